@@ -0,0 +1,50 @@
+package com.haykz.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentPageDto;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON serialization of a catalog page, as written by the listing endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GarmentJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int garments;
+
+    private ObjectWriter writer;
+    private GarmentPageDto page;
+
+    @Setup
+    public void setUp() {
+        List<GarmentDto> items = new ArrayList<>(garments);
+        for (int i = 0; i < garments; i++) {
+            items.add(new GarmentDto((long) i, Type.values()[i % Type.values().length], "Garment " + i,
+                    Size.values()[i % Size.values().length], BigDecimal.valueOf(1000 + i, 2),
+                    (long) i % 10, "user" + i % 10, 0L));
+        }
+        page = new GarmentPageDto(items, "SUQ6OTk");
+        writer = new ObjectMapper().writerFor(GarmentPageDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,67 @@
+package com.haykz.benchmark;
+
+import com.haykz.dto.GarmentDto;
+import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.entity.UserEntity;
+import com.haykz.mapper.GarmentMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@link ModelMapper} previously used by the services with the generated
+ * {@link GarmentMapper} when mapping a page of garments to DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GarmentMappingBenchmark {
+
+    @Param({"100"})
+    private int garments;
+
+    private List<GarmentEntity> page;
+    private ModelMapper modelMapper;
+    private GarmentMapper garmentMapper;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(garments);
+        for (int i = 0; i < garments; i++) {
+            UserEntity publisher = new UserEntity((long) i % 10, "Publisher " + i % 10, "Street " + i % 10,
+                    "user" + i % 10, "password");
+            page.add(new GarmentEntity((long) i, Type.values()[i % Type.values().length], "Garment " + i,
+                    Size.values()[i % Size.values().length], BigDecimal.valueOf(i, 2), publisher, 0L));
+        }
+        modelMapper = new ModelMapper();
+        garmentMapper = Mappers.getMapper(GarmentMapper.class);
+    }
+
+    @Benchmark
+    public List<GarmentDto> modelMapper() {
+        List<GarmentDto> result = new ArrayList<>(page.size());
+        for (GarmentEntity garment : page) {
+            result.add(modelMapper.map(garment, GarmentDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<GarmentDto> generatedMapper() {
+        List<GarmentDto> result = new ArrayList<>(page.size());
+        for (GarmentEntity garment : page) {
+            result.add(garmentMapper.toDto(garment));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+package com.haykz.benchmark;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.config.ReplicaProperties;
+import com.haykz.datasource.ReadYourWrites;
+import com.haykz.dto.*;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.index.DescriptionAutocomplete;
+import com.haykz.index.GarmentCatalogIndex;
+import com.haykz.mapper.GarmentMapper;
+import com.haykz.repository.GarmentRepository;
+import com.haykz.repository.UserRepository;
+import com.haykz.service.impl.GarmentServiceImpl;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+
+/**
+ * Measures {@link GarmentServiceImpl#getAllGarments} without the database and without the listing cache:
+ * projecting the result rows onto DTOs the way the repository does, trimming the page and encoding the
+ * cursor of the next one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GarmentServiceBenchmark {
+
+    @Param({"20", "100"})
+    private int limit;
+
+    @Param({"ID", "PRICE"})
+    private GarmentSort sort;
+
+    private GarmentServiceImpl garmentService;
+    private final GarmentFilterDto filter = new GarmentFilterDto();
+
+    @Setup
+    public void setUp() {
+        List<Object[]> rows = new ArrayList<>(limit + 1);
+        for (int i = 0; i <= limit; i++) {
+            rows.add(new Object[]{(long) i, Type.values()[i % Type.values().length], "Garment " + i,
+                    Size.values()[i % Size.values().length], BigDecimal.valueOf(1000 + i, 2), (long) i % 10,
+                    "user" + i % 10});
+        }
+
+        GarmentRepository garmentRepository = Mockito.mock(GarmentRepository.class);
+        Mockito.when(garmentRepository.findPage(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            List<GarmentDto> page = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                page.add(new GarmentDto((Long) row[0], (Type) row[1], (String) row[2], (Size) row[3],
+                        (BigDecimal) row[4], (Long) row[5], (String) row[6], 0L));
+            }
+            return page;
+        });
+        CatalogProperties catalogProperties = new CatalogProperties();
+        catalogProperties.getPage().setMaxSize(Math.max(limit, catalogProperties.getPage().getMaxSize()));
+        garmentService = new GarmentServiceImpl(garmentRepository, Mockito.mock(UserRepository.class),
+                Mappers.getMapper(GarmentMapper.class), catalogProperties,
+                Mockito.mock(ApplicationEventPublisher.class), Mockito.mock(GarmentCatalogIndex.class),
+                Mockito.mock(DescriptionAutocomplete.class),
+                new ReadYourWrites(Mockito.mock(PlatformTransactionManager.class), new ReplicaProperties()),
+                new ConcurrentMapCacheManager());
+    }
+
+    @Benchmark
+    public GarmentPageDto getAllGarments() {
+        return garmentService.getAllGarments(filter, sort, null, limit);
+    }
+}
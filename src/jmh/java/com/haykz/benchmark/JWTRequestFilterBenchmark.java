@@ -0,0 +1,61 @@
+package com.haykz.benchmark;
+
+import com.haykz.security.JWTRequestFilter;
+import com.haykz.security.JWTUtil;
+import com.haykz.service.impl.CustomUserDetailsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures an authenticated request passing through the {@link JWTRequestFilter}: header parsing, token
+ * verification, principal lookup and population of the security context. The principal lookup is stubbed
+ * to return at once, as it does when the principal cache is warm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTRequestFilterBenchmark {
+
+    private static final String SECRET = "998fb3eb8cb82e91e224de9bd72e2dbcd79ee2ada3cefef9c053c84c767e31e2";
+
+    private JWTRequestFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JWTUtil jwtUtil = new JWTUtil(SECRET);
+        CustomUserDetailsService userDetailsService = Mockito.mock(CustomUserDetailsService.class);
+        Mockito.when(userDetailsService.loadPrincipalByUsername("testuser"))
+                .thenReturn(new User("testuser", "", new ArrayList<>()));
+        filter = new JWTRequestFilter(new AntPathRequestMatcher("/user/clothes/**"), jwtUtil, userDetailsService);
+        authorization = "Bearer " + jwtUtil.generateToken("testuser");
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/user/clothes");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
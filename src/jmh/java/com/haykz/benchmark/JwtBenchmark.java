@@ -0,0 +1,66 @@
+package com.haykz.benchmark;
+
+import com.haykz.security.JWTUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the signing of tokens at login and their verification by the JWT request filter on every
+ * authenticated request.
+ * <p>
+ * {@code perCallParser} reproduces the former behaviour, which derived the key and built a parser on every
+ * call and parsed each token twice per request. {@code sharedParser} parses the token once with the key and
+ * parser {@link JWTUtil} builds at startup.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "998fb3eb8cb82e91e224de9bd72e2dbcd79ee2ada3cefef9c053c84c767e31e2";
+
+    private JWTUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil(SECRET);
+        token = jwtUtil.generateToken("testuser");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("testuser");
+    }
+
+    @Benchmark
+    public boolean perCallParser() {
+        String username = parseWithNewParser(token).getSubject();
+        return username.equals(parseWithNewParser(token).getSubject());
+    }
+
+    @Benchmark
+    public boolean sharedParser() {
+        Claims claims = jwtUtil.parseClaims(token);
+        return jwtUtil.validateClaims(claims, claims.getSubject());
+    }
+
+    private Claims parseWithNewParser(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,78 @@
+package com.haykz.cache;
+
+import com.haykz.event.GarmentChangedEvent;
+import lombok.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Version of the catalog as a whole, advanced every time a garment changes.
+ * <p>
+ * It gives the catalog listing a validator that is known without querying the catalog, so conditional
+ * requests for an unchanged listing can be answered at once. The version is kept per instance, like the
+ * caches it follows, and is prefixed with the startup time of the instance so that versions handed out
+ * before a restart are never taken for current ones.
+ * </p>
+ * <p>
+ * The version only advances on the changes made through this instance, so it is only valid while the application runs
+ * as a single instance. Several instances behind a load balancer would each hand out their own tags, and an instance
+ * would keep confirming pages that another instance changed. The catalog listing therefore only sends it as a validator when
+ * {@code catalog.http-cache.single-instance} is set.
+ * </p>
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private long changes;
+    private volatile Snapshot current = new Snapshot(epoch + "-0", now());
+
+    /**
+     * Returns the current version of the catalog.
+     *
+     * @return the version together with the time of the change that produced it
+     */
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * Advances the version once a garment change has been committed.
+     * It runs after the other listeners of the event, so a new version is only handed out once the caches
+     * no longer hold the garment as it was before the change.
+     *
+     * @param event The garment change
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGarmentChanged(GarmentChangedEvent event) {
+        changes++;
+        current = new Snapshot(epoch + "-" + changes, now());
+    }
+
+    private static Instant now() {
+        // HTTP dates have a precision of one second
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * A version of the catalog.
+     */
+    @Value
+    public static class Snapshot {
+        /**
+         * Opaque tag identifying the version.
+         */
+        String tag;
+
+        /**
+         * Time of the change that produced the version, or startup time of the instance.
+         */
+        Instant lastModified;
+    }
+}
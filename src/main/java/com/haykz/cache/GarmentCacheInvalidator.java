@@ -0,0 +1,63 @@
+package com.haykz.cache;
+
+import com.haykz.config.CacheConfig;
+import com.haykz.dto.GarmentDto;
+import com.haykz.event.GarmentChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the {@link CacheConfig#GARMENT_DETAILS}, {@link CacheConfig#GARMENT_LISTINGS},
+ * {@link CacheConfig#GARMENT_FACETS} and {@link CacheConfig#CATALOG_FACETS} caches consistent with the catalog.
+ * <p>
+ * When a garment changes, its details are evicted, together with only the cached listing pages whose filter
+ * the garment matched before or matches after the change; pages of unrelated type, size and price
+ * combinations stay cached. The facets of a filter also count garments outside of it, so every cached
+ * facet count is evicted, together with the facets of the whole catalog.
+ * </p>
+ */
+@Component
+public class GarmentCacheInvalidator {
+
+    private final Cache details;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> listings;
+    private final Cache facets;
+    private final Cache catalogFacets;
+
+    public GarmentCacheInvalidator(CacheManager cacheManager) {
+        this.details = cacheManager.getCache(CacheConfig.GARMENT_DETAILS);
+        this.listings = ((CaffeineCache) cacheManager.getCache(CacheConfig.GARMENT_LISTINGS)).getNativeCache();
+        this.facets = cacheManager.getCache(CacheConfig.GARMENT_FACETS);
+        this.catalogFacets = cacheManager.getCache(CacheConfig.CATALOG_FACETS);
+    }
+
+    /**
+     * Evicts the cache entries affected by a garment change, once the change has been committed.
+     * It runs before the {@link CatalogVersion} advances, so no cached page outlives the version it belongs to.
+     *
+     * @param event The garment change
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGarmentChanged(GarmentChangedEvent event) {
+        evictDetails(event.getPrevious());
+        evictDetails(event.getCurrent());
+        listings.asMap().keySet().removeIf(key -> affects(event.getPrevious(), key) || affects(event.getCurrent(), key));
+        catalogFacets.clear();
+        facets.clear();
+    }
+
+    private void evictDetails(GarmentDto garment) {
+        if (garment != null && garment.getId() != null) {
+            details.evict(garment.getId());
+        }
+    }
+
+    private boolean affects(GarmentDto garment, Object key) {
+        return garment != null && ((GarmentListingKey) key).matches(garment);
+    }
+}
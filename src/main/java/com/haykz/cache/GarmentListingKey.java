@@ -0,0 +1,56 @@
+package com.haykz.cache;
+
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Key of a catalog listing page in the {@link com.haykz.config.CacheConfig#GARMENT_LISTINGS} cache.
+ * <p>
+ * The key copies the filter attributes instead of holding the mutable filter DTO, and can tell whether
+ * a garment falls within the filter, which is what the cache invalidation relies on.
+ * </p>
+ */
+@Value
+public class GarmentListingKey {
+    Type type;
+    Size size;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+    GarmentSort sort;
+    String cursor;
+    Integer limit;
+
+    public static GarmentListingKey of(GarmentFilterDto filter, GarmentSort sort, String cursor, Integer limit) {
+        return new GarmentListingKey(filter.getType(), filter.getSize(), filter.getMinPrice(), filter.getMaxPrice(),
+                sort != null ? sort : GarmentSort.ID, cursor, limit);
+    }
+
+    /**
+     * Checks whether the garment matches the filter of this listing, that is whether it appears,
+     * or would appear, on some page of it.
+     *
+     * @param garment The garment to check
+     * @return {@code true} if the garment matches the type, size and price range of the listing
+     */
+    public boolean matches(GarmentDto garment) {
+        if (type != null && type != garment.getType()) {
+            return false;
+        }
+        if (size != null && size != garment.getSize()) {
+            return false;
+        }
+        if (minPrice == null && maxPrice == null) {
+            return true;
+        }
+        BigDecimal price = garment.getPrice();
+        return price != null
+                && (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+}
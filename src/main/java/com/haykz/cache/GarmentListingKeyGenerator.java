@@ -0,0 +1,41 @@
+package com.haykz.cache;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Builds the {@link GarmentListingKey} of a {@code getAllGarments(filter, sort, cursor, limit)} call.
+ * <p>
+ * The limit is normalized to the page size actually served, the default size when it is missing and the maximum
+ * size when it exceeds it, so requests for the same page share one cache entry.
+ * </p>
+ */
+@Component(GarmentListingKeyGenerator.NAME)
+@AllArgsConstructor
+public class GarmentListingKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "garmentListingKeyGenerator";
+
+    private final CatalogProperties catalogProperties;
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return GarmentListingKey.of((GarmentFilterDto) params[0], (GarmentSort) params[1],
+                (String) params[2], pageSize((Integer) params[3]));
+    }
+
+    private Integer pageSize(Integer limit) {
+        CatalogProperties.Page page = catalogProperties.getPage();
+        if (limit == null) {
+            return page.getDefaultSize();
+        }
+        // Invalid sizes are rejected by the service and never cached, so they are kept as they are
+        return limit < 1 ? limit : Math.min(limit, page.getMaxSize());
+    }
+}
@@ -1,6 +1,6 @@
 package com.haykz.config;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
@@ -8,30 +8,17 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * This is the configuration class for setting up beans in the application context.
- * It contains the configuration for the ModelMapper bean, which is used for object mapping.
+ * It contains the request matcher of the secured paths and registers the {@link CatalogProperties},
+ * {@link AuthProperties} and {@link ReplicaProperties} holding the tunables of the garment catalog,
+ * of user authentication and of the read replica.
  *
- * ModelMapper simplifies the process of mapping one object to another, typically used for
- * converting between DTOs and entities in the application.
+ * Conversions between DTOs and entities are handled by the compile-time generated mappers
+ * of the {@code com.haykz.mapper} package.
  */
 @Configuration
+@EnableConfigurationProperties({CatalogProperties.class, AuthProperties.class, ReplicaProperties.class})
 public class AppConfig {
 
-    /**
-     * Provides the ModelMapper bean to the Spring context.
-     * The ModelMapper is used to map objects from one type to another, which is particularly useful
-     * for mapping between entities and DTOs.
-     *
-     * Example usage:
-     * - Mapping from an Entity to a DTO: `modelMapper.map(entity, MyDto.class)`
-     * - Mapping from a DTO to an Entity: `modelMapper.map(dto, MyEntity.class)`
-     *
-     * @return a new instance of ModelMapper, which can be used for object mapping
-     */
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
-
     /**
      * Provides a RequestMatcher bean to match specific paths for security-related purposes.
      * This matcher is typically used to define custom patterns for paths that need special security configurations.
@@ -0,0 +1,61 @@
+package com.haykz.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of user authentication, bound from the {@code auth.*} keys
+ * of {@code application.properties}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    /**
+     * Bounds of the cache of authenticated principals. The time to live is how long a change to a user
+     * can take to reach requests authenticated with a token issued before it.
+     */
+    private final CatalogProperties.Cache principalCache = new CatalogProperties.Cache(10_000, Duration.ofMinutes(5));
+
+    private final Hashing hashing = new Hashing();
+    private final Password password = new Password();
+
+    /**
+     * Bounds of the executor hashing and verifying passwords.
+     */
+    @Getter
+    @Setter
+    public static class Hashing {
+        /**
+         * Number of passwords hashed in parallel; defaults to the number of available cores.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of hashing requests that may wait for a thread; further requests are rejected.
+         */
+        private int queueCapacity = 64;
+    }
+
+    /**
+     * Encoding of stored passwords. Hashes encoded differently, or with a lower cost, are upgraded on the next
+     * successful login of their user.
+     */
+    @Getter
+    @Setter
+    public static class Password {
+        /**
+         * Id of the encoder new hashes are produced with: {@code bcrypt} or {@code pbkdf2}.
+         */
+        private String encodingId = "bcrypt";
+
+        /**
+         * Log2 of the number of BCrypt rounds, between 4 and 31.
+         */
+        private int bcryptStrength = 10;
+    }
+}
@@ -0,0 +1,79 @@
+package com.haykz.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration of the in-process caches of the application.
+ * <p>
+ * Every cache is a bounded Caffeine cache that evicts by size and age, and records its hit, miss and
+ * eviction counts. Spring Boot Actuator publishes those counts as the {@code cache.*} metrics.
+ * </p>
+ * <p>
+ * Caching applies outside of the transactions of the cached methods, so a cache hit starts no transaction.
+ * </p>
+ */
+@Configuration
+@EnableCaching(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Cache of {@link com.haykz.dto.GarmentDto} keyed by garment id, serving the garment detail endpoint.
+     */
+    public static final String GARMENT_DETAILS = "garmentDetails";
+
+    /**
+     * Cache of {@link com.haykz.dto.GarmentPageDto} keyed by {@link com.haykz.cache.GarmentListingKey},
+     * serving the catalog listing endpoint.
+     */
+    public static final String GARMENT_LISTINGS = "garmentListings";
+
+    /**
+     * Cache of {@link com.haykz.dto.GarmentFacetsDto} keyed by {@link com.haykz.dto.GarmentFilterDto},
+     * serving the catalog facets endpoint.
+     */
+    public static final String GARMENT_FACETS = "garmentFacets";
+
+    /**
+     * Cache of the single {@link com.haykz.dto.GarmentFacetsDto} of the whole catalog, from which the facets
+     * no other filter restricts are taken.
+     */
+    public static final String CATALOG_FACETS = "catalogFacets";
+
+    /**
+     * Cache of the {@link org.springframework.security.core.userdetails.UserDetails} of authenticated
+     * requests keyed by username, serving the JWT request filter.
+     */
+    public static final String AUTHENTICATED_PRINCIPALS = "authenticatedPrincipals";
+
+    /**
+     * Provides the CacheManager bean holding the caches of the application.
+     *
+     * @param catalogProperties the catalog properties holding the bounds of the catalog caches
+     * @param authProperties the authentication properties holding the bounds of the principal cache
+     * @return a CaffeineCacheManager with every application cache registered
+     */
+    @Bean
+    public CacheManager cacheManager(CatalogProperties catalogProperties, AuthProperties authProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(GARMENT_DETAILS, boundedCache(catalogProperties.getDetailCache()).build());
+        cacheManager.registerCustomCache(GARMENT_LISTINGS, boundedCache(catalogProperties.getListingCache()).build());
+        cacheManager.registerCustomCache(GARMENT_FACETS, boundedCache(catalogProperties.getFacetCache()).build());
+        cacheManager.registerCustomCache(CATALOG_FACETS, boundedCache(catalogProperties.getFacetCache()).build());
+        cacheManager.registerCustomCache(AUTHENTICATED_PRINCIPALS, boundedCache(authProperties.getPrincipalCache()).build());
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> boundedCache(CatalogProperties.Cache cache) {
+        return Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats();
+    }
+}
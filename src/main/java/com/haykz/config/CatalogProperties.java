@@ -0,0 +1,189 @@
+package com.haykz.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties of the garment catalog, bound from the {@code catalog.*} keys
+ * of {@code application.properties}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    private final Page page = new Page();
+    private final Cache detailCache = new Cache();
+    private final Cache listingCache = new Cache(1_000, Duration.ofMinutes(1));
+    private final Bulk bulk = new Bulk();
+    private final HttpCache httpCache = new HttpCache();
+    private final Index index = new Index();
+    private final Autocomplete autocomplete = new Autocomplete();
+    private final Facets facets = new Facets();
+    private final Cache facetCache = new Cache(1_000, Duration.ofMinutes(1));
+
+    /**
+     * Paging limits of the catalog listing.
+     */
+    @Getter
+    @Setter
+    public static class Page {
+        /**
+         * Number of garments returned when the client does not ask for a page size.
+         */
+        private int defaultSize = 20;
+
+        /**
+         * Largest page size a client may ask for; bigger requests are capped to it.
+         */
+        private int maxSize = 100;
+    }
+
+    /**
+     * Limits of the bulk operations of sellers.
+     */
+    @Getter
+    @Setter
+    public static class Bulk {
+        /**
+         * Largest number of garments a single bulk request may carry, select or change.
+         */
+        private int maxItems = 1_000;
+
+        /**
+         * Number of garments written per transaction; each chunk is committed or rejected as a whole.
+         */
+        private int chunkSize = 200;
+    }
+
+    /**
+     * Lifetimes of the catalog listing pages in browsers and shared caches.
+     * <p>
+     * The shape of a listing request is the set of filters it supplies, named {@code q} (for a search query),
+     * {@code type}, {@code size} and {@code price} (for either price bound) and joined by dashes in that order,
+     * for example {@code type-price}; a listing without filters has the shape {@code none}.
+     * </p>
+     */
+    @Getter
+    @Setter
+    public static class HttpCache {
+        /**
+         * Whether a single instance serves the catalog, so that its catalog version sees every change and may
+         * validate the listing pages. Without it, pages are sent without an ETag or Last-Modified date.
+         */
+        private boolean singleInstance = false;
+
+        /**
+         * Time a listing page may be reused without revalidating it, unless its shape has its own lifetime.
+         */
+        private Duration maxAge = Duration.ofSeconds(10);
+
+        /**
+         * Lifetimes of listing pages by the shape of their request.
+         */
+        private Map<String, Duration> maxAgeByShape = new HashMap<>();
+
+        /**
+         * Returns the lifetime of the listing pages of a request shape.
+         *
+         * @param shape The shape of the listing request
+         * @return the lifetime configured for the shape, or the default lifetime
+         */
+        public Duration maxAge(String shape) {
+            return maxAgeByShape.getOrDefault(shape, maxAge);
+        }
+    }
+
+    /**
+     * Settings of the in-process catalog index, see {@link com.haykz.index.GarmentCatalogIndex}.
+     */
+    @Getter
+    @Setter
+    public static class Index {
+        /**
+         * Whether catalog pages are served from the in-process index instead of the database.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time between two complete reloads of the index from the database.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Settings of the autocomplete of search terms, see {@link com.haykz.index.DescriptionAutocomplete}.
+     */
+    @Getter
+    @Setter
+    public static class Autocomplete {
+        /**
+         * Whether the terms of the garment descriptions are loaded into memory to complete search queries.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time between two complete reloads of the terms from the database.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(10);
+
+        /**
+         * Number of suggestions returned when the client does not ask for a number.
+         */
+        private int defaultSuggestions = 10;
+
+        /**
+         * Largest number of suggestions a client may ask for; bigger requests are capped to it.
+         */
+        private int maxSuggestions = 25;
+
+        /**
+         * Time a list of suggestions may be reused by browsers and shared caches.
+         */
+        private Duration maxAge = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Settings of the catalog facets.
+     */
+    @Getter
+    @Setter
+    public static class Facets {
+        /**
+         * Ascending lower bounds of the price buckets; each bucket ends where the next one starts, and the last
+         * one is open-ended.
+         */
+        private List<BigDecimal> priceBounds = new ArrayList<>(List.of(
+                BigDecimal.ZERO, BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100),
+                BigDecimal.valueOf(200)));
+    }
+
+    /**
+     * Bounds of an in-process cache.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cache {
+        /**
+         * Number of entries above which the least valuable ones are evicted.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which an entry is evicted, counted from when it was loaded.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+}
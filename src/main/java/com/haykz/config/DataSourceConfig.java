@@ -0,0 +1,71 @@
+package com.haykz.config;
+
+import com.haykz.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of the data sources when a read replica is enabled with {@code replica.enabled}.
+ * <p>
+ * The primary and the replica each get their own Hikari pool: the primary is configured by the usual
+ * {@code spring.datasource.*} keys, the replica by the {@code replica.datasource.*} keys, e.g.
+ * {@code replica.datasource.jdbc-url} and {@code replica.datasource.maximum-pool-size}. The application uses
+ * a {@link ReadWriteRoutingDataSource} over both pools, which sends read-only transactions to the replica.
+ * Without a replica, Spring Boot configures the single pool of the primary as usual.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * Provides the connection pool of the primary database.
+     *
+     * @param properties the {@code spring.datasource.*} properties
+     * @return the pool of the primary, further configured by the {@code spring.datasource.hikari.*} keys
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Provides the connection pool of the replica. Its connections are read-only unless
+     * {@code replica.datasource.read-only} is set to {@code false}, so a write sent to it by mistake fails
+     * even when both pools point at the same database.
+     *
+     * @return the pool of the replica, configured by the {@code replica.datasource.*} keys
+     */
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Provides the data source used by the application, routing every transaction to one of the pools.
+     *
+     * @param primaryDataSource the pool of the primary
+     * @param replicaDataSource the pool of the replica
+     * @return the routing data source, behind a proxy that obtains connections on their first statement
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+}
@@ -0,0 +1,29 @@
+package com.haykz.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the read replica, bound from the {@code replica.*} keys
+ * of {@code application.properties}. The connection pool of the replica itself is bound from
+ * {@code replica.datasource.*} by the {@link DataSourceConfig}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are served by the replica; otherwise every query goes to the primary.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Longest time a change may take to reach the replica. Garments changed more recently than this are read
+     * from the primary, so that a change is visible to the reads following it.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+}
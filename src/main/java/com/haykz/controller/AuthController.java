@@ -4,8 +4,10 @@ import com.haykz.dto.CreateUserDto;
 import com.haykz.dto.UserDto;
 import com.haykz.dto.authentication.AuthRequestDto;
 import com.haykz.dto.authentication.AuthResponseDto;
+import com.haykz.exception.PasswordHashingRejectedException;
 import com.haykz.service.AuthService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -41,6 +43,8 @@ public class AuthController {
             return ResponseEntity.ok(authResponse);
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (PasswordHashingRejectedException e) {
+            return tooManyRequests(e);
         }
     }
 
@@ -57,6 +61,14 @@ public class AuthController {
             return ResponseEntity.ok(userDTO);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (PasswordHashingRejectedException e) {
+            return tooManyRequests(e);
         }
     }
+
+    private ResponseEntity<?> tooManyRequests(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
\ No newline at end of file
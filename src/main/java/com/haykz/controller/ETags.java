@@ -0,0 +1,82 @@
+package com.haykz.controller;
+
+/**
+ * Helpers building and comparing the entity tags sent in the {@code ETag}, {@code If-None-Match} and
+ * {@code If-Match} headers.
+ */
+final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong entity tag of a version of a resource.
+     *
+     * @param version The version of the resource
+     * @return the quoted entity tag
+     */
+    static String of(Object version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds the weak entity tag of a version of a resource, for representations that are equivalent but
+     * not necessarily identical byte for byte across versions with the same tag.
+     *
+     * @param version The version of the resource
+     * @return the quoted entity tag, marked as weak
+     */
+    static String weakOf(Object version) {
+        return WEAK_PREFIX + of(version);
+    }
+
+    /**
+     * Tells whether an {@code If-None-Match} header matches the current entity tag of a resource.
+     * The tags are compared weakly, as required for that header.
+     *
+     * @param ifNoneMatch The value of the header, or {@code null} if the request does not carry it
+     * @param eTag The current entity tag of the resource
+     * @return {@code true} if the client already holds the current representation of the resource
+     */
+    static boolean anyMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = withoutWeakPrefix(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmedTag = tag.trim();
+            if (trimmedTag.equals("*") || withoutWeakPrefix(trimmedTag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the version a client expects a resource to have from an {@code If-Match} header.
+     *
+     * @param ifMatch The value of the header, or {@code null} if the request does not carry it
+     * @return the expected version, or {@code null} if any version is acceptable
+     * @throws IllegalArgumentException if the header does not hold a single strong entity tag of a version
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must hold a single strong ETag of the resource");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must hold a single strong ETag of the resource");
+        }
+    }
+
+    private static String withoutWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -1,23 +1,50 @@
 package com.haykz.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.haykz.cache.CatalogVersion;
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentColumnsDto;
 import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentPageDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.dto.TermSuggestionDto;
 import com.haykz.entity.Size;
 import com.haykz.entity.Type;
 import com.haykz.exception.ResourceNotFoundException;
 import com.haykz.service.GarmentService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
 
 /**
  * The GarmentController class is responsible for handling requests related to garments.
  * It exposes the following endpoints:
- * 1. /clothes - for retrieving a list of all garments, optionally filtered by type, size, and price range.
- * 2. /clothes/{id} - for retrieving a single garment by its ID.
+ * 1. /clothes - for retrieving a page of garments, optionally filtered by type, size, and price range
+ *    and searched by description, either as garment objects or, when asked for, in a compact columnar form.
+ * 2. /clothes/facets - for counting the garments per type, size and price bucket under the filters.
+ * 3. /clothes/suggestions - for completing the search term being typed.
+ * 4. /clothes/export - for streaming all garments matching the filters as newline-delimited JSON.
+ * 5. /clothes/{id} - for retrieving a single garment by its ID.
  *
  * The controller delegates the actual logic to the GarmentService.
  */
@@ -26,41 +53,322 @@ import java.util.List;
 @AllArgsConstructor
 public class GarmentController {
 
+    /**
+     * Media type of newline-delimited JSON, one garment per line.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Media type of a catalog page in columnar form, see {@link GarmentColumnsDto}.
+     */
+    public static final String APPLICATION_COLUMNAR_JSON_VALUE = "application/vnd.marketplace.columnar+json";
+
+    private static final String COLUMNAR_VARIANT = "columnar";
+
     private final GarmentService garmentService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final CatalogProperties catalogProperties;
 
     /**
-     * Retrieves a list of garments, optionally filtered by type, size, and price range.
+     * Retrieves a page of garments, optionally filtered by type, size, and price range.
+     * When a search query is given, only the garments whose description matches it are returned, most relevant
+     * first, and the requested sort is ignored.
+     * The response carries a cursor that can be passed back to fetch the following page.
+     * <p>
+     * The page may be cached for the lifetime configured for the shape of its filters. When the application is
+     * configured to run as a single instance, the page is also validated by the version of the catalog, sent as its
+     * ETag and Last-Modified date, and a conditional request naming the current version is answered with
+     * 304 Not Modified without reading the catalog.
+     * </p>
      *
      * @param type The type of the garment (optional)
      * @param size The size of the garment (optional)
      * @param minPrice The minimum price filter for the garments (optional)
      * @param maxPrice The maximum price filter for the garments (optional)
-     * @return a ResponseEntity containing the list of garments matching the filters
+     * @param q The full-text search query over the descriptions; when given, the garments are ordered by relevance (optional)
+     * @param sort The ordering of the garments, by id unless specified otherwise
+     * @param cursor The cursor returned with the previous page (optional)
+     * @param limit The number of garments per page, capped by the configured maximum (optional)
+     * @param ifNoneMatch The ETags of the versions of the page the client holds (optional)
+     * @param ifModifiedSince The Last-Modified date of the page the client holds (optional)
+     * @return a ResponseEntity containing the page of garments matching the filters, or an error message
      */
     @GetMapping
-    public ResponseEntity<List<GarmentDto>> getAllClothes(
+    public ResponseEntity<?> getAllClothes(
+            @RequestParam(required = false) Type type,
+            @RequestParam(required = false) Size size,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "ID") GarmentSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        GarmentFilterDto filter = GarmentFilterDto.builder()
+                .type(type)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return listing(filter, q, sort, cursor, limit, ifNoneMatch, ifModifiedSince, null, Function.identity());
+    }
+
+    /**
+     * Retrieves a page of garments like {@link #getAllClothes}, in the columnar form of {@link GarmentColumnsDto}.
+     * It serves the requests that accept {@value #APPLICATION_COLUMNAR_JSON_VALUE}, and suits clients on slow
+     * networks that fetch large pages.
+     *
+     * @param type The type of the garment (optional)
+     * @param size The size of the garment (optional)
+     * @param minPrice The minimum price filter for the garments (optional)
+     * @param maxPrice The maximum price filter for the garments (optional)
+     * @param q The full-text search query over the descriptions; when given, the garments are ordered by relevance (optional)
+     * @param sort The ordering of the garments, by id unless specified otherwise
+     * @param cursor The cursor returned with the previous page (optional)
+     * @param limit The number of garments per page, capped by the configured maximum (optional)
+     * @param ifNoneMatch The ETags of the versions of the page the client holds (optional)
+     * @param ifModifiedSince The Last-Modified date of the page the client holds (optional)
+     * @return a ResponseEntity containing the columns of the page of garments matching the filters, or an error message
+     */
+    @GetMapping(produces = APPLICATION_COLUMNAR_JSON_VALUE)
+    public ResponseEntity<?> getAllClothesColumnar(
+            @RequestParam(required = false) Type type,
+            @RequestParam(required = false) Size size,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "ID") GarmentSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        GarmentFilterDto filter = GarmentFilterDto.builder()
+                .type(type)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return listing(filter, q, sort, cursor, limit, ifNoneMatch, ifModifiedSince, COLUMNAR_VARIANT, GarmentColumnsDto::of);
+    }
+
+    private ResponseEntity<?> listing(GarmentFilterDto filter, String q, GarmentSort sort, String cursor, Integer limit,
+                                      String ifNoneMatch, String ifModifiedSince, String variant,
+                                      Function<GarmentPageDto, ?> representation) {
+        String query = q != null && !q.isBlank() ? q.trim() : null;
+        // The version only sees the changes made through this instance, so it validates nothing once there are others
+        boolean validated = catalogProperties.getHttpCache().isSingleInstance();
+        // The version is read before the page, so the page is never older than the version it is sent with
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        // Each representation has its own tag, so a cache never revalidates one with the tag of the other
+        String eTag = ETags.weakOf(variant != null ? version.getTag() + "-" + variant : version.getTag());
+        CacheControl cacheControl = CacheControl.maxAge(catalogProperties.getHttpCache().maxAge(shapeOf(query, filter)))
+                .cachePublic();
+        if (validated && notModified(ifNoneMatch, ifModifiedSince, eTag, version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(version.getLastModified())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        try {
+            GarmentPageDto garments = query != null
+                    ? garmentService.searchGarments(query, filter, cursor, limit)
+                    : garmentService.getAllGarments(filter, sort, cursor, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT);
+            if (validated) {
+                response.eTag(eTag).lastModified(version.getLastModified());
+            }
+            return response.body(representation.apply(garments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Counts the garments matching the filters, and the garments per type, size and price bucket.
+     * The counts of a facet ignore the filter on that facet, so a client can show how many garments each of
+     * its values would list. Like the listing, the counts may be cached for the lifetime configured for the shape
+     * of the filters, and are validated by the version of the catalog when the application runs as a single instance.
+     *
+     * @param type The type of the garment (optional)
+     * @param size The size of the garment (optional)
+     * @param minPrice The minimum price filter for the garments (optional)
+     * @param maxPrice The maximum price filter for the garments (optional)
+     * @param ifNoneMatch The ETags of the versions of the counts the client holds (optional)
+     * @param ifModifiedSince The Last-Modified date of the counts the client holds (optional)
+     * @return a ResponseEntity containing the facet counts, or an error message
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) Type type,
+            @RequestParam(required = false) Size size,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince) {
+        GarmentFilterDto filter = GarmentFilterDto.builder()
+                .type(type)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        boolean validated = catalogProperties.getHttpCache().isSingleInstance();
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        String eTag = ETags.weakOf(version.getTag());
+        CacheControl cacheControl = CacheControl.maxAge(catalogProperties.getHttpCache().maxAge(shapeOf(null, filter)))
+                .cachePublic();
+        if (validated && notModified(ifNoneMatch, ifModifiedSince, eTag, version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(version.getLastModified())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        try {
+            GarmentFacetsDto facets = garmentService.getFacets(filter);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(cacheControl);
+            if (validated) {
+                response.eTag(eTag).lastModified(version.getLastModified());
+            }
+            return response.body(facets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Suggests the terms of the garment descriptions that start with a prefix, to complete the search query
+     * being typed. Suggestions are answered from memory and may be cached for
+     * {@code catalog.autocomplete.max-age}, as a request is sent for every keystroke.
+     *
+     * @param prefix The beginning of the term being typed
+     * @param limit The number of suggestions, capped by the configured maximum (optional)
+     * @return a ResponseEntity containing the suggested terms, shared by the most garments first, or an error message
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<?> suggestTerms(@RequestParam String prefix,
+                                          @RequestParam(required = false) Integer limit) {
+        try {
+            List<TermSuggestionDto> suggestions = garmentService.suggestTerms(prefix, limit);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(catalogProperties.getAutocomplete().getMaxAge()).cachePublic())
+                    .body(suggestions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams every garment matching the filters as newline-delimited JSON.
+     * Garments are written while they are read from the database, so the memory used by an export
+     * does not depend on the size of the catalog.
+     *
+     * @param type The type of the garment (optional)
+     * @param size The size of the garment (optional)
+     * @param minPrice The minimum price filter for the garments (optional)
+     * @param maxPrice The maximum price filter for the garments (optional)
+     * @return a ResponseEntity whose body writes one garment per line
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClothes(
             @RequestParam(required = false) Type type,
             @RequestParam(required = false) Size size,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice) {
+        GarmentFilterDto filter = GarmentFilterDto.builder()
+                .type(type)
+                .size(size)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
 
-        List<GarmentDto> garments = garmentService.getAllGarments(type, size, minPrice, maxPrice);
-        return ResponseEntity.ok(garments);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter lines = objectMapper.writerFor(GarmentDto.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                garmentService.exportGarments(filter, garment -> {
+                    try {
+                        lines.write(garment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     /**
      * Retrieves a specific garment by its ID.
+     * The response carries the version of the garment as its ETag. When the If-None-Match header of the
+     * request already names that version, 304 Not Modified is returned without a body.
      *
      * @param id The ID of the garment to retrieve
+     * @param ifNoneMatch The ETags of the versions of the garment the client holds (optional)
      * @return a ResponseEntity containing the garment details if found, or an error message if not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getClothes(@PathVariable Long id) {
+    public ResponseEntity<?> getClothes(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             GarmentDto garment = garmentService.getGarmentById(id);
-            return ResponseEntity.ok(garment);
+            String eTag = ETags.of(garment.getVersion());
+            if (ETags.anyMatches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(garment);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+
+    private static String shapeOf(String query, GarmentFilterDto filter) {
+        StringJoiner shape = new StringJoiner("-");
+        if (query != null) {
+            shape.add("q");
+        }
+        if (filter.getType() != null) {
+            shape.add("type");
+        }
+        if (filter.getSize() != null) {
+            shape.add("size");
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            shape.add("price");
+        }
+        return shape.length() > 0 ? shape.toString() : "none";
+    }
+
+    private static boolean notModified(String ifNoneMatch, String ifModifiedSince, String eTag, Instant lastModified) {
+        // If-Modified-Since is only considered when the request carries no If-None-Match
+        if (ifNoneMatch != null) {
+            return ETags.anyMatches(ifNoneMatch, eTag);
+        }
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return !lastModified.isAfter(since);
+        } catch (DateTimeParseException e) {
+            // An invalid date is ignored, as if the header were absent
+            return false;
+        }
+    }
 }
@@ -1,22 +1,32 @@
 package com.haykz.controller;
 
+import com.haykz.dto.BulkPriceChangeDto;
+import com.haykz.dto.BulkResultDto;
 import com.haykz.dto.CreateGarmentDto;
 import com.haykz.dto.GarmentDto;
+import com.haykz.dto.PublishResultDto;
 import com.haykz.exception.ResourceNotFoundException;
+import com.haykz.exception.StaleGarmentException;
 import com.haykz.service.GarmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * The GarmentUserController class handles user-specific operations related to garments.
  * It provides the following functionalities:
  * 1. Publish a new garment.
- * 2. Update an existing garment.
- * 3. Unpublish an existing garment.
+ * 2. Publish a list of garments at once.
+ * 3. Update an existing garment.
+ * 4. Change the price of many garments at once.
+ * 5. Unpublish an existing garment.
+ * 6. Unpublish many garments at once.
  *
  * All actions require the user to be authenticated, and operations are performed based on the user's credentials.
  */
@@ -54,23 +64,59 @@ public class GarmentUserController {
         }
     }
 
+    /**
+     * Endpoint to publish a list of garments at once.
+     * Every garment is validated and stored on its own, so the response reports the outcome of each of them.
+     *
+     * @param garments The details of the garments to be published
+     * @param userDetails The authenticated user's details
+     * @return ResponseEntity with the outcome of every garment, in the order of the request, or an error message
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> publishGarments(@RequestBody List<CreateGarmentDto> garments,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            List<PublishResultDto> results = garmentService.publishGarments(garments, userDetails);
+            return ResponseEntity.ok(results);
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     /**
      * Endpoint to update an existing garment.
+     * When the request carries an If-Match header, the garment is only updated if it is still at the version
+     * named by the header; otherwise 412 Precondition Failed is returned. An update losing a race against a
+     * concurrent update of the same garment is refused as well, with 409 Conflict if no If-Match was given.
      *
      * @param id The ID of the garment to be updated
      * @param garmentEntityDetails The updated details of the garment
+     * @param ifMatch The ETag of the version of the garment the update is based on (optional)
      * @param userDetails The authenticated user's details
-     * @return ResponseEntity with the updated garment or an error message
+     * @return ResponseEntity with the updated garment and its new ETag, or an error message
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateGarment(@PathVariable Long id,
                                            @RequestBody CreateGarmentDto garmentEntityDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                            @AuthenticationPrincipal UserDetails userDetails) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ETags.expectedVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
+
         try {
-            GarmentDto updatedGarmentEntity = garmentService.updateGarment(id, garmentEntityDetails, userDetails);
-            return ResponseEntity.ok(updatedGarmentEntity);
+            GarmentDto updatedGarmentEntity = garmentService.updateGarment(id, garmentEntityDetails, expectedVersion, userDetails);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedGarmentEntity.getVersion()))
+                    .body(updatedGarmentEntity);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (StaleGarmentException e) {
+            HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(e.getMessage());
         }
     }
 
@@ -91,4 +137,42 @@ public class GarmentUserController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
+
+    /**
+     * Endpoint to change the price of many garments at once, selected by ids or by filter.
+     * Only the garments published by the authenticated user are changed.
+     *
+     * @param priceChange The selection of garments and their new price or price factor
+     * @param userDetails The authenticated user's details
+     * @return ResponseEntity with the number of garments changed or an error message
+     */
+    @PutMapping("/bulk/price")
+    public ResponseEntity<?> changePrices(@RequestBody BulkPriceChangeDto priceChange,
+                                          @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            BulkResultDto result = garmentService.changePrices(priceChange, userDetails);
+            return ResponseEntity.ok(result);
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint to unpublish many garments at once.
+     * Only the garments published by the authenticated user are unpublished.
+     *
+     * @param ids The IDs of the garments to be unpublished
+     * @param userDetails The authenticated user's details
+     * @return ResponseEntity with the number of garments unpublished or an error message
+     */
+    @PostMapping("/bulk/unpublish")
+    public ResponseEntity<?> unpublishGarments(@RequestBody List<Long> ids,
+                                               @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            BulkResultDto result = garmentService.unpublishGarments(ids, userDetails);
+            return ResponseEntity.ok(result);
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
 }
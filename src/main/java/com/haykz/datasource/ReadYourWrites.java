@@ -0,0 +1,140 @@
+package com.haykz.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haykz.cache.GarmentListingKey;
+import com.haykz.config.ReplicaProperties;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.event.GarmentChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs the catalog reads on the replica, except those that could miss a change the replica has not received yet.
+ * <p>
+ * Every garment change is remembered for {@code replica.max-lag}. A read that a remembered change could affect,
+ * because it reads the changed garment or a filter the garment matched before or after the change, runs on the
+ * primary; any other read runs in a read-only transaction, which the {@link ReadWriteRoutingDataSource} sends to
+ * the replica. A seller reading the catalog right after publishing therefore sees the new garment, and so does
+ * everybody else, including the caches filled by those reads.
+ * </p>
+ * <p>
+ * Changes are remembered before their transaction commits, and changes published outside of a transaction before
+ * the caches are evicted, so no page read from a lagging replica stays cached. When the replica is disabled,
+ * reads run as they are, on the primary.
+ * </p>
+ * <p>
+ * Registrations are remembered the same way, so that the principal of a user who has just registered, and is
+ * already holding a token, is read from the primary until the replica has the new user.
+ * </p>
+ */
+@Component
+public class ReadYourWrites {
+
+    private final boolean enabled;
+    private final TransactionTemplate replicaReads;
+    private final Cache<GarmentChangedEvent, Boolean> recentChanges;
+    private final Cache<String, Boolean> recentUsers;
+
+    public ReadYourWrites(PlatformTransactionManager transactionManager, ReplicaProperties replicaProperties) {
+        this.enabled = replicaProperties.isEnabled();
+        this.replicaReads = new TransactionTemplate(transactionManager);
+        this.replicaReads.setReadOnly(true);
+        this.recentChanges = Caffeine.newBuilder()
+                .expireAfterWrite(replicaProperties.getMaxLag())
+                .build();
+        this.recentUsers = Caffeine.newBuilder()
+                .expireAfterWrite(replicaProperties.getMaxLag())
+                .build();
+    }
+
+    /**
+     * Remembers a garment change until the replica has caught up with it.
+     *
+     * @param event The garment change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onGarmentChanged(GarmentChangedEvent event) {
+        if (enabled) {
+            recentChanges.put(event, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Remembers the registration of a user until the replica has caught up with it.
+     * It is called before the user is saved, so the user is never read from the replica before being remembered.
+     *
+     * @param username The username of the registering user
+     */
+    public void onUserRegistered(String username) {
+        if (enabled) {
+            recentUsers.put(username, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Reads a garment, on the primary if it has changed recently.
+     *
+     * @param id The id of the garment
+     * @param query The read
+     * @return the result of the read
+     */
+    public <T> T readGarment(Long id, Supplier<T> query) {
+        return read(garment -> id.equals(garment.getId()), query);
+    }
+
+    /**
+     * Reads garments matching a filter, on the primary if a garment matching it has changed recently.
+     * A read that depends on the whole catalog passes an empty filter.
+     *
+     * @param filter The filter of the garments read
+     * @param query The read
+     * @return the result of the read
+     */
+    public <T> T readGarments(GarmentFilterDto filter, Supplier<T> query) {
+        GarmentListingKey listing = GarmentListingKey.of(filter, null, null, null);
+        return read(listing::matches, query);
+    }
+
+    /**
+     * Reads a user, on the primary if the user has registered recently.
+     *
+     * @param username The username of the user
+     * @param query The read
+     * @return the result of the read
+     */
+    public <T> T readUser(String username, Supplier<T> query) {
+        return read(recentUsers.getIfPresent(username) != null, query);
+    }
+
+    private <T> T read(Predicate<GarmentDto> affected, Supplier<T> query) {
+        return read(changedRecently(affected), query);
+    }
+
+    private <T> T read(boolean changedRecently, Supplier<T> query) {
+        if (!enabled || changedRecently) {
+            return query.get();
+        }
+        return replicaReads.execute(status -> query.get());
+    }
+
+    private boolean changedRecently(Predicate<GarmentDto> affected) {
+        for (GarmentChangedEvent event : recentChanges.asMap().keySet()) {
+            if (event.getPrevious() != null && affected.test(event.getPrevious())
+                    || event.getCurrent() != null && affected.test(event.getCurrent())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.haykz.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for changing the price of many garments of a seller at once.
+ *
+ * The garments are selected either by their ids or by a filter, and only the garments published by the
+ * requesting seller are changed. Exactly one of {@code price}, the new price of every selected garment,
+ * and {@code priceFactor}, the factor their current prices are multiplied by, must be given.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPriceChangeDto {
+    private List<Long> ids;
+    private GarmentFilterDto filter;
+    private BigDecimal price;
+    private BigDecimal priceFactor;
+}
@@ -0,0 +1,19 @@
+package com.haykz.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a bulk operation of a seller.
+ *
+ * This class holds the number of garments the operation changed. Garments that do not exist or belong to
+ * another seller are not counted, so the count can be lower than the number of garments requested.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkResultDto {
+    private int affected;
+}
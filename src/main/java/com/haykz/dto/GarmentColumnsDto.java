@@ -0,0 +1,59 @@
+package com.haykz.dto;
+
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing one page of the garment catalog in columnar form.
+ *
+ * This class holds one array per garment attribute instead of one object per garment, so every attribute
+ * name is sent once per page rather than once per garment, and the publisher is flattened into its id and
+ * username. The garment at position {@code i} of the page is made of the {@code i}-th element of every array.
+ * The cursor is {@code null} when there are no more garments to fetch.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GarmentColumnsDto {
+    private List<Long> id;
+    private List<Type> type;
+    private List<String> description;
+    private List<Size> size;
+    private List<BigDecimal> price;
+    private List<Long> publisherId;
+    private List<String> publisherUsername;
+    private List<Long> version;
+    private String next;
+
+    /**
+     * Converts a page of garments to its columnar form.
+     *
+     * @param page The page of garments
+     * @return the columns of the page
+     */
+    public static GarmentColumnsDto of(GarmentPageDto page) {
+        int garments = page.getItems().size();
+        GarmentColumnsDto columns = new GarmentColumnsDto(new ArrayList<>(garments), new ArrayList<>(garments),
+                new ArrayList<>(garments), new ArrayList<>(garments), new ArrayList<>(garments),
+                new ArrayList<>(garments), new ArrayList<>(garments), new ArrayList<>(garments), page.getNext());
+        for (GarmentDto garment : page.getItems()) {
+            columns.id.add(garment.getId());
+            columns.type.add(garment.getType());
+            columns.description.add(garment.getDescription());
+            columns.size.add(garment.getSize());
+            columns.price.add(garment.getPrice());
+            columns.publisherId.add(garment.getPublisher() != null ? garment.getPublisher().getId() : null);
+            columns.publisherUsername.add(garment.getPublisher() != null ? garment.getPublisher().getUsername() : null);
+            columns.version.add(garment.getVersion());
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,100 @@
+package com.haykz.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last garment returned by a catalog page.
+ * <p>
+ * The cursor records the keyset of the garment for the requested {@link GarmentSort}, so the next page
+ * can be fetched with a range condition instead of an offset. It is exchanged with clients as an opaque,
+ * URL-safe token.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GarmentCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final GarmentSort sort;
+    private final BigDecimal price;
+    private final Float rank;
+    private final Long id;
+
+    /**
+     * Creates the cursor pointing past the given garment.
+     *
+     * @param sort The ordering of the page the garment belongs to
+     * @param garment The last garment of the page
+     * @return the cursor of the next page
+     */
+    public static GarmentCursor after(GarmentSort sort, GarmentDto garment) {
+        BigDecimal price = sort == GarmentSort.PRICE ? garment.getPrice() : null;
+        return new GarmentCursor(sort, price, null, garment.getId());
+    }
+
+    /**
+     * Creates the cursor pointing past the given search hit, for the {@link GarmentSort#RELEVANCE} ordering.
+     *
+     * @param hit The last search hit of the page
+     * @return the cursor of the next page
+     */
+    public static GarmentCursor after(GarmentSearchHit hit) {
+        return new GarmentCursor(GarmentSort.RELEVANCE, null, hit.getRank(), hit.getGarment().getId());
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The token received from the client
+     * @param sort The ordering the client requested
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is malformed or was issued for another ordering
+     */
+    public static GarmentCursor decode(String token, GarmentSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        try {
+            if (sort == GarmentSort.ID && parts.length == 2 && GarmentSort.ID.name().equals(parts[0])) {
+                return new GarmentCursor(sort, null, null, Long.valueOf(parts[1]));
+            }
+            if (sort == GarmentSort.PRICE && parts.length == 3 && GarmentSort.PRICE.name().equals(parts[0])) {
+                return new GarmentCursor(sort, new BigDecimal(parts[1]), null, Long.valueOf(parts[2]));
+            }
+            if (sort == GarmentSort.RELEVANCE && parts.length == 3 && GarmentSort.RELEVANCE.name().equals(parts[0])) {
+                return new GarmentCursor(sort, null, Float.valueOf(parts[1]), Long.valueOf(parts[2]));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        throw new IllegalArgumentException("Cursor does not match the requested sort order: " + sort);
+    }
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe token.
+     *
+     * @return the token to hand out to the client
+     */
+    public String encode() {
+        String value;
+        if (sort == GarmentSort.PRICE) {
+            value = sort.name() + SEPARATOR + price.toPlainString() + SEPARATOR + id;
+        } else if (sort == GarmentSort.RELEVANCE) {
+            value = sort.name() + SEPARATOR + rank + SEPARATOR + id;
+        } else {
+            value = sort.name() + SEPARATOR + id;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -10,8 +10,12 @@ import java.math.BigDecimal;
  * Data Transfer Object (DTO) representing a garment.
  *
  * This class holds the details of a garment, including its unique identifier, type,
- * description, size, price, and the user who published the garment. It is used for
+ * description, size, price, the user who published the garment, and the version of the garment,
+ * which clients receive as its ETag. It is used for
  * transferring garment information between different layers of the application.
+ *
+ * Catalog reads build it directly from the selected columns through the projection constructor,
+ * in which case only the id and username of the publisher are filled in.
  */
 @Data
 @Getter
@@ -26,4 +30,24 @@ public class GarmentDto {
     private Size size;
     private BigDecimal price;
     private UserDto publisher;
+    private Long version;
+
+    /**
+     * Projection constructor used by the catalog queries of the garment repository.
+     *
+     * @param id The id of the garment
+     * @param type The type of the garment
+     * @param description The description of the garment
+     * @param size The size of the garment
+     * @param price The price of the garment
+     * @param publisherId The id of the publisher, or {@code null} if the garment has none
+     * @param publisherUsername The username of the publisher
+     * @param version The version of the garment
+     */
+    public GarmentDto(Long id, Type type, String description, Size size, BigDecimal price,
+                      Long publisherId, String publisherUsername, Long version) {
+        this(id, type, description, size, price, publisherId != null
+                ? UserDto.builder().id(publisherId).username(publisherUsername).build()
+                : null, version);
+    }
 }
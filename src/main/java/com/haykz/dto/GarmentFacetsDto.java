@@ -0,0 +1,29 @@
+package com.haykz.dto;
+
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing the facet counts of the catalog under a filter.
+ *
+ * This class holds the number of garments matching the filter, and the number of garments per type, per size
+ * and per price bucket. The counts of a facet ignore the filter on that same facet, so they tell how many
+ * garments the listing would hold if the client picked another value of it; every type and size is present,
+ * with a count of zero if no garment has it.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GarmentFacetsDto {
+    private long total;
+    private Map<Type, Long> types;
+    private Map<Size, Long> sizes;
+    private List<PriceBucketDto> prices;
+}
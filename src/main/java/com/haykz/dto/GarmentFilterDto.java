@@ -0,0 +1,26 @@
+package com.haykz.dto;
+
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) holding the filters of a catalog query.
+ *
+ * Every attribute is optional; a {@code null} attribute means the corresponding filter is not applied.
+ * The DTO is used to pass the garment type, size and price range from the controllers to the service layer.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GarmentFilterDto {
+    private Type type;
+    private Size size;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
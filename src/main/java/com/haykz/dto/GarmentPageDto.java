@@ -0,0 +1,22 @@
+package com.haykz.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing one page of the garment catalog.
+ *
+ * This class holds the garments of the requested page and an opaque cursor pointing past the last of them.
+ * The cursor is {@code null} when there are no more garments to fetch.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GarmentPageDto {
+    private List<GarmentDto> items;
+    private String next;
+}
@@ -0,0 +1,19 @@
+package com.haykz.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A garment found by a full-text search, together with its relevance to the search query.
+ */
+@Getter
+@AllArgsConstructor
+public class GarmentSearchHit {
+
+    private final GarmentDto garment;
+
+    /**
+     * Relevance of the garment description to the query; higher is more relevant.
+     */
+    private final float rank;
+}
@@ -0,0 +1,24 @@
+package com.haykz.dto;
+
+/**
+ * Enum representing the orderings supported by the garment catalog listing.
+ * Each ordering is a keyset over unique columns, so a page can be resumed from a cursor
+ * without counting or skipping the rows that came before it.
+ */
+public enum GarmentSort {
+    /**
+     * Orders garments by their identifier, ascending.
+     */
+    ID,
+
+    /**
+     * Orders garments by price and then identifier, both ascending.
+     */
+    PRICE,
+
+    /**
+     * Orders the garments found by a full-text search by descending relevance, and then by identifier.
+     * It only applies to search results.
+     */
+    RELEVANCE
+}
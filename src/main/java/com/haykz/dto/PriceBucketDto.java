@@ -0,0 +1,23 @@
+package com.haykz.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) representing a price bucket of the catalog facets.
+ *
+ * This class holds the bounds of the bucket and the number of garments priced within them. The lower bound is
+ * inclusive and the upper bound exclusive; the last bucket has no upper bound.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBucketDto {
+    private BigDecimal from;
+    private BigDecimal to;
+    private long count;
+}
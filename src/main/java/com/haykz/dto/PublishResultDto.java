@@ -0,0 +1,31 @@
+package com.haykz.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of publishing one garment of a bulk upload.
+ *
+ * This class holds the position of the garment in the uploaded list and either the published garment
+ * or the reason it was rejected; the other attribute is left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PublishResultDto {
+    private int index;
+    private GarmentDto garment;
+    private String error;
+
+    public static PublishResultDto published(int index, GarmentDto garment) {
+        return new PublishResultDto(index, garment, null);
+    }
+
+    public static PublishResultDto rejected(int index, String error) {
+        return new PublishResultDto(index, null, error);
+    }
+}
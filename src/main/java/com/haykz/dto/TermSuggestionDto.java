@@ -0,0 +1,20 @@
+package com.haykz.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) representing a term suggested to complete a search query.
+ *
+ * This class holds a term of the garment descriptions and the number of garments whose description contains it,
+ * which is how suggestions are ranked.
+ */
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TermSuggestionDto {
+    private String term;
+    private int garments;
+}
@@ -1,5 +1,6 @@
 package com.haykz.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 /**
@@ -8,7 +9,9 @@ import lombok.*;
  * This class holds the details of a user, including their unique identifier, full name,
  * address, and username. It is used to transfer user information between different layers
  * of the application without exposing sensitive information like passwords.
+ * Details that were not loaded, such as the address of a garment publisher, are left out of the JSON.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Getter
 @Setter
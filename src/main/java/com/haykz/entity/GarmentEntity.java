@@ -10,7 +10,10 @@ import java.math.BigDecimal;
  *
  * This class is mapped to the 'garment' table in the database and contains information about a garment,
  * including its type, description, size, price, and the publisher who created it.
- * The publisher is a relationship to the UserEntity.
+ * The publisher is a relationship to the UserEntity. It is loaded lazily, so reads that need it
+ * must fetch it explicitly. Ids are allocated from a sequence in blocks, which lets new garments be
+ * inserted in JDBC batches. The version is incremented on every update, which guards updates against
+ * concurrent edits of the same garment.
  */
 @Entity
 @Setter
@@ -19,7 +22,8 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class GarmentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "garment_seq")
+    @SequenceGenerator(name = "garment_seq", sequenceName = "garment_entity_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -32,7 +36,10 @@ public class GarmentEntity {
 
     private BigDecimal price;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "publisher_id")
     private UserEntity publisher;
+
+    @Version
+    private Long version;
 }
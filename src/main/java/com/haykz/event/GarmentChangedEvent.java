@@ -0,0 +1,32 @@
+package com.haykz.event;
+
+import com.haykz.dto.GarmentDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published after a garment has been published, updated or unpublished.
+ * <p>
+ * The event carries the garment as it was before and after the change, so listeners that keep derived
+ * state about the catalog can update exactly the parts the change touches. The previous state is
+ * {@code null} for a published garment and the current state is {@code null} for an unpublished one.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class GarmentChangedEvent {
+    private final GarmentDto previous;
+    private final GarmentDto current;
+
+    public static GarmentChangedEvent published(GarmentDto garment) {
+        return new GarmentChangedEvent(null, garment);
+    }
+
+    public static GarmentChangedEvent updated(GarmentDto previous, GarmentDto current) {
+        return new GarmentChangedEvent(previous, current);
+    }
+
+    public static GarmentChangedEvent unpublished(GarmentDto garment) {
+        return new GarmentChangedEvent(garment, null);
+    }
+}
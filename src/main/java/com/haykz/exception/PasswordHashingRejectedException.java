@@ -0,0 +1,16 @@
+package com.haykz.exception;
+
+/**
+ * Exception thrown when a password cannot be hashed or verified because the password hashing executor
+ * is saturated.
+ * <p>
+ * Logins and registrations that hit it are turned away at once, so that a burst of them cannot occupy
+ * the request threads serving the rest of the application. The caller is expected to retry later.
+ * </p>
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
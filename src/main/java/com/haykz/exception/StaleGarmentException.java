@@ -0,0 +1,15 @@
+package com.haykz.exception;
+
+/**
+ * Exception thrown when a garment is updated on the basis of a version of it that is no longer current.
+ * <p>
+ * It is raised both when the client names an outdated version of the garment and when another update of
+ * the garment commits first, so that concurrent edits never silently overwrite each other.
+ * </p>
+ */
+public class StaleGarmentException extends RuntimeException {
+
+    public StaleGarmentException(String message) {
+        super(message);
+    }
+}
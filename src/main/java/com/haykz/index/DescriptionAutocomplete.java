@@ -0,0 +1,266 @@
+package com.haykz.index;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.TermSuggestionDto;
+import com.haykz.event.GarmentChangedEvent;
+import com.haykz.repository.GarmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process autocomplete of search terms, built from the descriptions of the garments.
+ * <p>
+ * The descriptions are split into lower-case words of letters and digits, and every word is kept in a
+ * {@link TermTrie} weighted by the number of garments whose description contains it. When
+ * {@code catalog.autocomplete.enabled} is set, the trie is loaded once the application is ready and reloaded
+ * every {@code catalog.autocomplete.rebuild-interval}; in between, every committed {@link GarmentChangedEvent}
+ * moves the weights of the words its descriptions gained or lost. Until the trie is loaded, no suggestions are
+ * returned: completing a keystroke is not worth a scan of the descriptions in the database.
+ * </p>
+ * <p>
+ * Like the catalog index, the trie only sees the changes made through its own instance until it is reloaded.
+ * </p>
+ */
+@Slf4j
+@Component
+public class DescriptionAutocomplete implements DisposableBean {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 32;
+    // Version standing for a garment the trie does not count
+    private static final long ABSENT = -1L;
+
+    private final GarmentRepository garmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogProperties.Autocomplete properties;
+    private final ScheduledExecutorService rebuilder;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Both guarded by the lock; terms is null until the trie is loaded
+    private TermTrie terms;
+    private List<GarmentChangedEvent> changesDuringRebuild;
+
+    public DescriptionAutocomplete(GarmentRepository garmentRepository, PlatformTransactionManager transactionManager,
+                                   CatalogProperties catalogProperties) {
+        this.garmentRepository = garmentRepository;
+        // Not read-only, so the catalog is read from the primary: only the changes committed while it is read are
+        // replayed, not those a lagging replica has yet to receive
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = catalogProperties.getAutocomplete();
+        this.rebuilder = properties.isEnabled()
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "description-autocomplete");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Loads the trie once the application is ready, and schedules its periodic rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (rebuilder != null) {
+            long interval = properties.getRebuildInterval().toMillis();
+            rebuilder.scheduleWithFixedDelay(this::rebuild, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Suggests the description terms most garments share that start with the given prefix.
+     *
+     * @param prefix The beginning of the term typed by the client; case is ignored
+     * @param limit The maximum number of suggestions to return
+     * @return the suggested terms, most frequent first, or an empty list if the trie is not loaded
+     */
+    public List<TermSuggestionDto> suggest(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_TERM_LENGTH) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            return terms != null ? terms.suggest(normalized, limit) : Collections.emptyList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the terms a garment change adds and removes once the change has been committed.
+     *
+     * @param event The garment change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGarmentChanged(GarmentChangedEvent event) {
+        if (rebuilder == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            if (terms != null) {
+                apply(terms, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the terms of every description into a new trie and swaps it in.
+     * <p>
+     * Changes committed while the catalog is being read are applied to the new trie before the swap. Applying a
+     * change moves term counts, so a change the catalog read already saw must not be applied again: the version
+     * of every garment read is kept, and a change is only applied to a garment counted at the version the change
+     * started from.
+     * </p>
+     */
+    void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TermTrie loadedTerms = new TermTrie();
+        LoadedVersions loaded = new LoadedVersions();
+        TermTrie rebuilt = loadedTerms;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<GarmentDto> garments = garmentRepository.streamByFilter(new GarmentFilterDto())) {
+                    garments.forEach(garment -> {
+                        termsOf(garment.getDescription()).forEach(loadedTerms::add);
+                        loaded.add(garment.getId(), versionOf(garment));
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load the description terms, keeping the previous ones until the next rebuild", e);
+            rebuilt = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                // Version of every changed garment as the new trie counts it
+                Map<Long, Long> counted = new HashMap<>();
+                for (GarmentChangedEvent event : changesDuringRebuild) {
+                    GarmentDto garment = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+                    long countedVersion = counted.computeIfAbsent(garment.getId(), loaded::versionOf);
+                    if (countedVersion == versionOf(event.getPrevious())) {
+                        apply(rebuilt, event);
+                        counted.put(garment.getId(), versionOf(event.getCurrent()));
+                    }
+                }
+                terms = rebuilt;
+                log.info("Loaded {} trie nodes of description terms", rebuilt.nodes());
+            }
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits a description into its distinct terms.
+     *
+     * @param description The description of a garment, possibly {@code null}
+     * @return the lower-case words of the description that are long enough to complete
+     */
+    static Set<String> termsOf(String description) {
+        Set<String> terms = new HashSet<>();
+        if (description == null) {
+            return terms;
+        }
+        for (String word : WORD_SEPARATOR.split(description.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_TERM_LENGTH && word.length() <= MAX_TERM_LENGTH) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static long versionOf(GarmentDto garment) {
+        if (garment == null) {
+            return ABSENT;
+        }
+        return garment.getVersion() != null ? garment.getVersion() : 0L;
+    }
+
+    private static void apply(TermTrie terms, GarmentChangedEvent event) {
+        Set<String> previous = termsOf(event.getPrevious() != null ? event.getPrevious().getDescription() : null);
+        Set<String> current = termsOf(event.getCurrent() != null ? event.getCurrent().getDescription() : null);
+        for (String term : previous) {
+            if (!current.contains(term)) {
+                terms.remove(term);
+            }
+        }
+        for (String term : current) {
+            if (!previous.contains(term)) {
+                terms.add(term);
+            }
+        }
+    }
+
+    /**
+     * Versions of the garments read by a rebuild, in the ascending id order they are streamed in.
+     */
+    private static final class LoadedVersions {
+        private int size;
+        private long[] ids = new long[1_024];
+        private long[] versions = new long[1_024];
+
+        private void add(long id, long version) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+            }
+            ids[size] = id;
+            versions[size] = version;
+            size++;
+        }
+
+        private long versionOf(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? versions[index] : ABSENT;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.haykz.index;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.event.GarmentChangedEvent;
+import com.haykz.repository.GarmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process index of the garment catalog, answering catalog pages without querying the database.
+ * <p>
+ * When {@code catalog.index.enabled} is set, the whole catalog is loaded into {@link GarmentColumns} once the
+ * application is ready, and reloaded every {@code catalog.index.rebuild-interval}. In between, every committed
+ * {@link GarmentChangedEvent} is applied to it, before the caches built on top of it are evicted. Until the
+ * index is loaded, and whenever a change cannot be applied to it, {@link #findPage} returns nothing and the
+ * catalog is read from the repository instead.
+ * </p>
+ * <p>
+ * Like the caches, the index only sees the changes made through its own instance; the periodic rebuild
+ * bounds how long changes made through other instances stay invisible to it.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GarmentCatalogIndex implements DisposableBean {
+
+    private final GarmentRepository garmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogProperties.Index properties;
+    private final ScheduledExecutorService rebuilder;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Both guarded by the lock; columns is null while the index is unavailable
+    private GarmentColumns columns;
+    private List<GarmentChangedEvent> changesDuringRebuild;
+
+    public GarmentCatalogIndex(GarmentRepository garmentRepository, PlatformTransactionManager transactionManager,
+                               CatalogProperties catalogProperties) {
+        this.garmentRepository = garmentRepository;
+        // Not read-only, so the catalog is read from the primary: only the changes committed while it is read are
+        // replayed, not those a lagging replica has yet to receive
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = catalogProperties.getIndex();
+        this.rebuilder = properties.isEnabled()
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "catalog-index");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    /**
+     * Loads the index once the application is ready, and schedules its periodic rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (rebuilder != null) {
+            long interval = properties.getRebuildInterval().toMillis();
+            rebuilder.scheduleWithFixedDelay(this::rebuild, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Finds a page of garments with the semantics of
+     * {@link com.haykz.repository.GarmentRepositoryCustom#findPage}, if the index is available.
+     *
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @param sort The ordering of the garments
+     * @param after The cursor of the previous page, or {@code null} for the first page
+     * @param limit The maximum number of garments to return
+     * @return the garments of the page, or an empty optional if the repository must be queried instead
+     */
+    public Optional<List<GarmentDto>> findPage(GarmentFilterDto filter, GarmentSort sort, GarmentCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            return columns != null ? Optional.of(columns.findPage(filter, sort, after, limit)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a garment change to the index once the change has been committed.
+     * It runs before the caches are evicted, so no page read from the index after the eviction misses it.
+     *
+     * @param event The garment change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGarmentChanged(GarmentChangedEvent event) {
+        if (rebuilder == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            if (columns != null && !apply(columns, event)) {
+                columns = null;
+                rebuilder.execute(this::rebuild);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the whole catalog into a new column store and swaps it in.
+     * Changes committed while the catalog is being read are applied to the new store before the swap.
+     */
+    void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        GarmentColumns rebuilt;
+        try {
+            rebuilt = transactionTemplate.execute(status -> {
+                try (Stream<GarmentDto> garments = garmentRepository.streamByFilter(new GarmentFilterDto())) {
+                    return GarmentColumns.load(garments);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not load the catalog index, the catalog is read from the database until the next rebuild", e);
+            rebuilt = null;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                for (GarmentChangedEvent event : changesDuringRebuild) {
+                    if (!apply(rebuilt, event)) {
+                        rebuilt = null;
+                        break;
+                    }
+                }
+            }
+            if (rebuilt != null) {
+                columns = rebuilt;
+                log.info("Loaded {} garments into the catalog index", rebuilt.size());
+            }
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    private boolean apply(GarmentColumns columns, GarmentChangedEvent event) {
+        try {
+            if (event.getCurrent() != null) {
+                columns.upsert(event.getCurrent());
+            } else {
+                columns.remove(event.getPrevious().getId());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not apply a garment change to the catalog index, rebuilding it", e);
+            return false;
+        }
+    }
+}
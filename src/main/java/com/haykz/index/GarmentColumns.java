@@ -0,0 +1,409 @@
+package com.haykz.index;
+
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column store of the garment catalog backing the {@link GarmentCatalogIndex}.
+ * <p>
+ * Every garment occupies a dense row ordinal. Each attribute is held in its own primitive array, the type and
+ * size of the garments are additionally indexed by one bitset per enum constant, and the priced rows are kept
+ * in a separate array sorted by price in minor units. Unpublished garments leave a dead row behind, which is
+ * dropped at the next rebuild of the index.
+ * </p>
+ * <p>
+ * The rows loaded by {@link #load} and the rows added after them in ascending id order form the main region, whose
+ * ordinals follow the id order: a row of it is found by a binary search over the id column, and the bitsets
+ * are scanned in id order directly. Ids are drawn in blocks per instance and transactions commit in any order,
+ * so garments also arrive with an id below the greatest one held. Once one does, it and every row added after
+ * it go to a tail, ordered by id through a separate array of rows, and pages ordered by id merge the main
+ * region with the tail. The next rebuild folds the tail back into the main region.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; the index guards them with a read-write lock.
+ * </p>
+ */
+final class GarmentColumns {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final Type[] TYPES = Type.values();
+    private static final Size[] SIZES = Size.values();
+
+    private int rows;
+    // Rows [0, mainRows) are in ascending id order; the others are the tail, ordered by tailOrder
+    private int mainRows;
+    private int tailRows;
+    private int[] tailOrder = new int[0];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] sizes = new byte[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private long[] publisherIds = new long[INITIAL_CAPACITY];
+    private String[] publisherUsernames = new String[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    private final BitSet alive = new BitSet();
+    private final BitSet priced = new BitSet();
+    private final BitSet published = new BitSet();
+    private final BitSet[] byType = bitsets(TYPES.length);
+    private final BitSet[] bySize = bitsets(SIZES.length);
+
+    // Rows of the priced garments, ordered by price and then by id, with their prices alongside
+    private int pricedRows;
+    private long[] sortedPrices = new long[INITIAL_CAPACITY];
+    private int[] sortedRows = new int[INITIAL_CAPACITY];
+    // Cleared while loading, when the price order is built once at the end instead of row by row
+    private boolean pricesSorted = true;
+
+    /**
+     * Loads garments into new columns. The price order is sorted once after every garment is placed, instead of
+     * being shifted into place garment by garment.
+     *
+     * @param garments The garments as they are stored, preferably in ascending id order
+     * @return the columns holding the garments
+     * @throws ArithmeticException if the price of a garment does not fit the price column
+     */
+    static GarmentColumns load(Stream<GarmentDto> garments) {
+        GarmentColumns columns = new GarmentColumns();
+        columns.pricesSorted = false;
+        garments.forEach(columns::upsert);
+        columns.sortPrices();
+        return columns;
+    }
+
+    /**
+     * Returns the number of garments held.
+     *
+     * @return the number of live rows
+     */
+    int size() {
+        return alive.cardinality();
+    }
+
+    /**
+     * Adds a garment, or replaces the garment with the same id.
+     *
+     * @param garment The garment as it is stored
+     * @throws ArithmeticException if the price of the garment does not fit the price column
+     */
+    void upsert(GarmentDto garment) {
+        // Mirrors the rounding of the NUMERIC(38, 2) price column
+        long price = garment.getPrice() != null
+                ? garment.getPrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+                : 0L;
+        int row = find(garment.getId());
+        if (row < 0) {
+            row = rows++;
+            ensureCapacity(rows);
+            ids[row] = garment.getId();
+            if (tailRows == 0 && (mainRows == 0 || ids[mainRows - 1] < ids[row])) {
+                mainRows = rows;
+            } else {
+                insertTail(row);
+            }
+        } else {
+            clear(row);
+        }
+        write(row, garment, price);
+    }
+
+    /**
+     * Removes the garment with the given id, if it is held.
+     *
+     * @param id The id of the garment
+     */
+    void remove(Long id) {
+        int row = find(id);
+        if (row >= 0) {
+            clear(row);
+        }
+    }
+
+    /**
+     * Finds a page of garments with the semantics of
+     * {@link com.haykz.repository.GarmentRepositoryCustom#findPage}.
+     *
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @param sort The ordering of the garments
+     * @param after The cursor of the previous page, or {@code null} for the first page
+     * @param limit The maximum number of garments to return
+     * @return the garments of the page
+     */
+    List<GarmentDto> findPage(GarmentFilterDto filter, GarmentSort sort, GarmentCursor after, int limit) {
+        long minPrice = filter.getMinPrice() != null ? bound(filter.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+        long maxPrice = filter.getMaxPrice() != null ? bound(filter.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+        List<GarmentDto> page = new ArrayList<>(Math.min(limit, INITIAL_CAPACITY));
+        if (minPrice > maxPrice) {
+            return page;
+        }
+
+        if (sort == GarmentSort.PRICE) {
+            int from = lowerBound(minPrice, -1);
+            if (after != null) {
+                from = Math.max(from, lowerBound(bound(after.getPrice(), RoundingMode.FLOOR), after.getId()));
+            }
+            for (int i = from; i < pricedRows && sortedPrices[i] <= maxPrice && page.size() < limit; i++) {
+                int row = sortedRows[i];
+                if (matches(row, filter)) {
+                    page.add(read(row));
+                }
+            }
+            return page;
+        }
+
+        BitSet candidates = (BitSet) alive.clone();
+        if (filter.getType() != null) {
+            candidates.and(byType[filter.getType().ordinal()]);
+        }
+        if (filter.getSize() != null) {
+            candidates.and(bySize[filter.getSize().ordinal()]);
+        }
+        boolean priceFiltered = filter.getMinPrice() != null || filter.getMaxPrice() != null;
+        if (priceFiltered) {
+            candidates.and(priced);
+        }
+        // Merges the candidates of the main region and of the tail, both in id order
+        int row = candidates.nextSetBit(after != null ? firstRowAfter(after.getId()) : 0);
+        int position = after != null ? firstTailPositionAfter(after.getId()) : 0;
+        while (page.size() < limit) {
+            while (row >= 0 && row < mainRows && !inRange(row, priceFiltered, minPrice, maxPrice)) {
+                row = candidates.nextSetBit(row + 1);
+            }
+            if (row >= mainRows) {
+                row = -1;
+            }
+            while (position < tailRows && !(candidates.get(tailOrder[position])
+                    && inRange(tailOrder[position], priceFiltered, minPrice, maxPrice))) {
+                position++;
+            }
+            if (row >= 0 && (position == tailRows || ids[row] < ids[tailOrder[position]])) {
+                page.add(read(row));
+                row = candidates.nextSetBit(row + 1);
+            } else if (position < tailRows) {
+                page.add(read(tailOrder[position]));
+                position++;
+            } else {
+                break;
+            }
+        }
+        return page;
+    }
+
+    private boolean inRange(int row, boolean priceFiltered, long minPrice, long maxPrice) {
+        return !priceFiltered || (prices[row] >= minPrice && prices[row] <= maxPrice);
+    }
+
+    private boolean matches(int row, GarmentFilterDto filter) {
+        return (filter.getType() == null || byType[filter.getType().ordinal()].get(row))
+                && (filter.getSize() == null || bySize[filter.getSize().ordinal()].get(row));
+    }
+
+    private void write(int row, GarmentDto garment, long price) {
+        alive.set(row);
+        types[row] = code(garment.getType());
+        if (garment.getType() != null) {
+            byType[garment.getType().ordinal()].set(row);
+        }
+        sizes[row] = code(garment.getSize());
+        if (garment.getSize() != null) {
+            bySize[garment.getSize().ordinal()].set(row);
+        }
+        descriptions[row] = garment.getDescription();
+        if (garment.getPublisher() != null && garment.getPublisher().getId() != null) {
+            published.set(row);
+            publisherIds[row] = garment.getPublisher().getId();
+            publisherUsernames[row] = garment.getPublisher().getUsername();
+        }
+        versions[row] = garment.getVersion() != null ? garment.getVersion() : 0L;
+        if (garment.getPrice() != null) {
+            prices[row] = price;
+            priced.set(row);
+            if (pricesSorted) {
+                insertPrice(row);
+            }
+        }
+    }
+
+    private void clear(int row) {
+        if (priced.get(row)) {
+            if (pricesSorted) {
+                removePrice(row);
+            }
+            priced.clear(row);
+        }
+        if (types[row] != 0) {
+            byType[types[row] - 1].clear(row);
+        }
+        if (sizes[row] != 0) {
+            bySize[sizes[row] - 1].clear(row);
+        }
+        alive.clear(row);
+        published.clear(row);
+        types[row] = 0;
+        sizes[row] = 0;
+        descriptions[row] = null;
+        publisherUsernames[row] = null;
+    }
+
+    private GarmentDto read(int row) {
+        return new GarmentDto(ids[row],
+                types[row] != 0 ? TYPES[types[row] - 1] : null,
+                descriptions[row],
+                sizes[row] != 0 ? SIZES[sizes[row] - 1] : null,
+                priced.get(row) ? BigDecimal.valueOf(prices[row], 2) : null,
+                published.get(row) ? publisherIds[row] : null,
+                publisherUsernames[row],
+                versions[row]);
+    }
+
+    private void insertPrice(int row) {
+        int position = lowerBound(prices[row], ids[row]);
+        if (pricedRows == sortedRows.length) {
+            int grown = Math.max(INITIAL_CAPACITY, pricedRows * 2);
+            sortedRows = Arrays.copyOf(sortedRows, grown);
+            sortedPrices = Arrays.copyOf(sortedPrices, grown);
+        }
+        System.arraycopy(sortedRows, position, sortedRows, position + 1, pricedRows - position);
+        System.arraycopy(sortedPrices, position, sortedPrices, position + 1, pricedRows - position);
+        sortedRows[position] = row;
+        sortedPrices[position] = prices[row];
+        pricedRows++;
+    }
+
+    private void removePrice(int row) {
+        int position = lowerBound(prices[row], ids[row] - 1);
+        System.arraycopy(sortedRows, position + 1, sortedRows, position, pricedRows - position - 1);
+        System.arraycopy(sortedPrices, position + 1, sortedPrices, position, pricedRows - position - 1);
+        pricedRows--;
+    }
+
+    /**
+     * Finds the first position of the price order that comes after the given price and id.
+     */
+    private int lowerBound(long price, long afterId) {
+        int low = 0;
+        int high = pricedRows;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long middlePrice = sortedPrices[middle];
+            if (middlePrice < price || (middlePrice == price && ids[sortedRows[middle]] <= afterId)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void sortPrices() {
+        Comparator<Integer> byPriceThenId = Comparator.<Integer>comparingLong(row -> prices[row])
+                .thenComparingLong(row -> ids[row]);
+        sortedRows = IntStream.range(0, rows).filter(priced::get).boxed().sorted(byPriceThenId)
+                .mapToInt(Integer::intValue).toArray();
+        pricedRows = sortedRows.length;
+        sortedPrices = new long[pricedRows];
+        for (int i = 0; i < pricedRows; i++) {
+            sortedPrices[i] = prices[sortedRows[i]];
+        }
+        pricesSorted = true;
+    }
+
+    private int find(long id) {
+        int row = Arrays.binarySearch(ids, 0, mainRows, id);
+        if (row >= 0) {
+            return row;
+        }
+        int position = tailPosition(id);
+        return position < tailRows && ids[tailOrder[position]] == id ? tailOrder[position] : -1;
+    }
+
+    private void insertTail(int row) {
+        int position = tailPosition(ids[row]);
+        if (tailRows == tailOrder.length) {
+            tailOrder = Arrays.copyOf(tailOrder, Math.max(INITIAL_CAPACITY, tailRows * 2));
+        }
+        System.arraycopy(tailOrder, position, tailOrder, position + 1, tailRows - position);
+        tailOrder[position] = row;
+        tailRows++;
+    }
+
+    /**
+     * Finds the first position of the tail order whose id is not below the given id.
+     */
+    private int tailPosition(long id) {
+        int low = 0;
+        int high = tailRows;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids[tailOrder[middle]] < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstRowAfter(long id) {
+        int row = Arrays.binarySearch(ids, 0, mainRows, id);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+    private int firstTailPositionAfter(long id) {
+        int position = tailPosition(id);
+        return position < tailRows && ids[tailOrder[position]] == id ? position + 1 : position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            types = Arrays.copyOf(types, grown);
+            sizes = Arrays.copyOf(sizes, grown);
+            prices = Arrays.copyOf(prices, grown);
+            descriptions = Arrays.copyOf(descriptions, grown);
+            publisherIds = Arrays.copyOf(publisherIds, grown);
+            publisherUsernames = Arrays.copyOf(publisherUsernames, grown);
+            versions = Arrays.copyOf(versions, grown);
+        }
+    }
+
+    private static long bound(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal minorUnits = price.setScale(2, roundingMode).movePointRight(2);
+        if (minorUnits.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (minorUnits.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return minorUnits.longValueExact();
+    }
+
+    private static byte code(Enum<?> value) {
+        // 0 stands for a missing value
+        return value != null ? (byte) (value.ordinal() + 1) : 0;
+    }
+
+    private static BitSet[] bitsets(int count) {
+        BitSet[] bitsets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitsets[i] = new BitSet();
+        }
+        return bitsets;
+    }
+}
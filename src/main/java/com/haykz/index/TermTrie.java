@@ -0,0 +1,198 @@
+package com.haykz.index;
+
+import com.haykz.dto.TermSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix tree of weighted terms backing the {@link DescriptionAutocomplete}.
+ * <p>
+ * Nodes are held in parallel primitive arrays instead of node objects: a node is an ordinal with one
+ * character, its first child and next sibling, the weight of the term ending at it, and an upper bound of
+ * the weights in its subtree. Siblings are kept in character order. The bounds let {@link #suggest} visit
+ * the subtree of a prefix best first and stop after the requested number of terms, however many terms
+ * share the prefix. Nodes whose terms drop to a weight of zero stay allocated until the trie is rebuilt.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; the autocomplete guards them with a read-write lock.
+ * </p>
+ */
+final class TermTrie {
+
+    private static final int INITIAL_CAPACITY = 4_096;
+    private static final int ROOT = 0;
+    // The root is nobody's child or sibling, so its ordinal marks a missing link
+    private static final int NONE = ROOT;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> candidate.weight).reversed()
+            .thenComparing(candidate -> candidate.text)
+            .thenComparing(candidate -> !candidate.complete);
+
+    private int nodes = 1;
+    private char[] labels = new char[INITIAL_CAPACITY];
+    private int[] firstChildren = new int[INITIAL_CAPACITY];
+    private int[] nextSiblings = new int[INITIAL_CAPACITY];
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int[] bounds = new int[INITIAL_CAPACITY];
+
+    /**
+     * Increments the weight of a term, adding the term if it is new.
+     *
+     * @param term The normalized term
+     */
+    void add(String term) {
+        int[] path = new int[term.length() + 1];
+        int node = ROOT;
+        for (int i = 0; i < term.length(); i++) {
+            node = child(node, term.charAt(i), true);
+            path[i + 1] = node;
+        }
+        int weight = ++weights[node];
+        for (int pathNode : path) {
+            bounds[pathNode] = Math.max(bounds[pathNode], weight);
+        }
+    }
+
+    /**
+     * Decrements the weight of a term, if the term is held.
+     *
+     * @param term The normalized term
+     */
+    void remove(String term) {
+        int[] path = new int[term.length() + 1];
+        int node = ROOT;
+        for (int i = 0; i < term.length(); i++) {
+            node = child(node, term.charAt(i), false);
+            if (node == NONE) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (weights[node] == 0) {
+            return;
+        }
+        weights[node]--;
+        // Tighten the bounds from the term up to the root
+        for (int i = path.length - 1; i >= 0; i--) {
+            int bound = weights[path[i]];
+            for (int child = firstChildren[path[i]]; child != NONE; child = nextSiblings[child]) {
+                bound = Math.max(bound, bounds[child]);
+            }
+            bounds[path[i]] = bound;
+        }
+    }
+
+    /**
+     * Finds the heaviest terms starting with a prefix.
+     *
+     * @param prefix The normalized prefix
+     * @param limit The maximum number of terms to return
+     * @return the terms with their weights, heaviest first and alphabetically among equal weights
+     */
+    List<TermSuggestionDto> suggest(String prefix, int limit) {
+        List<TermSuggestionDto> suggestions = new ArrayList<>(limit);
+        int node = find(prefix);
+        if (node < 0 || bounds[node] == 0) {
+            return suggestions;
+        }
+
+        // A term leaves the queue only once no subtree left in the queue can hold a heavier one
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(node, bounds[node], prefix, false));
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.complete) {
+                suggestions.add(new TermSuggestionDto(candidate.text, candidate.weight));
+                continue;
+            }
+            if (weights[candidate.node] > 0) {
+                queue.add(new Candidate(candidate.node, weights[candidate.node], candidate.text, true));
+            }
+            for (int child = firstChildren[candidate.node]; child != NONE; child = nextSiblings[child]) {
+                if (bounds[child] > 0) {
+                    queue.add(new Candidate(child, bounds[child], candidate.text + labels[child], false));
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns the number of nodes allocated, the root included.
+     *
+     * @return the number of nodes
+     */
+    int nodes() {
+        return nodes;
+    }
+
+    private int find(String text) {
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = child(node, text.charAt(i), false);
+            if (node == NONE) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    private int child(int parent, char label, boolean create) {
+        int previous = NONE;
+        int child = firstChildren[parent];
+        while (child != NONE && labels[child] < label) {
+            previous = child;
+            child = nextSiblings[child];
+        }
+        if (child != NONE && labels[child] == label) {
+            return child;
+        }
+        if (!create) {
+            return NONE;
+        }
+
+        int created = nodes++;
+        ensureCapacity(nodes);
+        labels[created] = label;
+        nextSiblings[created] = child;
+        if (previous == NONE) {
+            firstChildren[parent] = created;
+        } else {
+            nextSiblings[previous] = created;
+        }
+        return created;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > labels.length) {
+            int grown = Math.max(capacity, labels.length * 2);
+            labels = Arrays.copyOf(labels, grown);
+            firstChildren = Arrays.copyOf(firstChildren, grown);
+            nextSiblings = Arrays.copyOf(nextSiblings, grown);
+            weights = Arrays.copyOf(weights, grown);
+            bounds = Arrays.copyOf(bounds, grown);
+        }
+    }
+
+    /**
+     * Entry of the best-first search: either a subtree, weighted by its bound, or a complete term.
+     */
+    private static final class Candidate {
+        private final int node;
+        private final int weight;
+        private final String text;
+        private final boolean complete;
+
+        private Candidate(int node, int weight, String text, boolean complete) {
+            this.node = node;
+            this.weight = weight;
+            this.text = text;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.haykz.mapper;
+
+import com.haykz.dto.CreateGarmentDto;
+import com.haykz.dto.GarmentDto;
+import com.haykz.entity.GarmentEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+/**
+ * Mapper converting between {@link GarmentEntity} and the garment DTOs.
+ * <p>
+ * The implementation is generated by MapStruct at compile time and copies the properties with plain
+ * getter and setter calls, so no reflection is involved when a garment is mapped.
+ * </p>
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface GarmentMapper {
+
+    /**
+     * Maps a garment, including its publisher, to a DTO.
+     *
+     * @param garment The garment to map
+     * @return the garment DTO, or {@code null} if the garment is {@code null}
+     */
+    GarmentDto toDto(GarmentEntity garment);
+
+    /**
+     * Creates a new, not yet persisted garment from the creation details.
+     *
+     * @param createGarmentDto The details of the garment to create
+     * @return the garment entity without id, publisher and version
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "publisher", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    GarmentEntity toEntity(CreateGarmentDto createGarmentDto);
+
+    /**
+     * Copies the type, description, size and price of the given details onto an existing garment.
+     * The id, publisher and version of the garment are left untouched.
+     *
+     * @param createGarmentDto The new details of the garment
+     * @param garment The garment to update
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "publisher", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(CreateGarmentDto createGarmentDto, @MappingTarget GarmentEntity garment);
+}
@@ -0,0 +1,37 @@
+package com.haykz.mapper;
+
+import com.haykz.dto.CreateUserDto;
+import com.haykz.dto.UserDto;
+import com.haykz.entity.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Mapper converting between {@link UserEntity} and the user DTOs.
+ * <p>
+ * The implementation is generated by MapStruct at compile time. The password is never copied to a
+ * {@link UserDto}.
+ * </p>
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserMapper {
+
+    /**
+     * Maps a user to a DTO without its password.
+     *
+     * @param user The user to map
+     * @return the user DTO, or {@code null} if the user is {@code null}
+     */
+    UserDto toDto(UserEntity user);
+
+    /**
+     * Creates a new, not yet persisted user from the registration details.
+     * The password is copied as given and is expected to be encoded by the caller.
+     *
+     * @param createUserDto The registration details of the user
+     * @return the user entity without id
+     */
+    @Mapping(target = "id", ignore = true)
+    UserEntity toEntity(CreateUserDto createUserDto);
+}
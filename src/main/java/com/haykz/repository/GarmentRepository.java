@@ -1,48 +1,50 @@
 package com.haykz.repository;
 
+import com.haykz.dto.GarmentDto;
 import com.haykz.entity.GarmentEntity;
-import com.haykz.entity.Size;
-import com.haykz.entity.Type;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for accessing and manipulating garment entities in the database.
  * <p>
  * This repository provides methods for querying garment data with specific criteria such as
- * garment type, size, and price range.
+ * garment type, size, and price range. Listings are read page by page using keyset pagination,
+ * through the dynamically built queries of {@link GarmentRepositoryCustom}.
+ * Read paths select only the columns of a {@link GarmentDto} instead of loading the entities together
+ * with their whole publisher.
  * </p>
  */
 @Repository
-public interface GarmentRepository extends JpaRepository<GarmentEntity, Long> {
+public interface GarmentRepository extends JpaRepository<GarmentEntity, Long>, GarmentRepositoryCustom {
 
     /**
-     * Finds a list of {@link GarmentEntity} based on the provided filtering criteria.
-     * This method allows querying by garment type, size, and a price range.
-     * <p>
-     * If any parameter is {@code null}, it is ignored in the query. For example, if
-     * {@code type} is {@code null}, it will not be used to filter the results.
-     * </p>
+     * Projection of a garment and the id and username of its publisher onto a {@link GarmentDto}.
+     */
+    String SELECT_DTO = "SELECT new com.haykz.dto.GarmentDto(" +
+            "g.id, g.type, g.description, g.size, g.price, p.id, p.username, g.version) " +
+            "FROM GarmentEntity g LEFT JOIN g.publisher p ";
+
+    /**
+     * Finds a garment by its id together with its publisher, in a single statement.
+     *
+     * @param id The id of the garment
+     * @return the garment with an initialized publisher, or an empty optional if there is no garment with this id
+     */
+    @EntityGraph(attributePaths = "publisher")
+    Optional<GarmentEntity> findWithPublisherById(Long id);
+
+    /**
+     * Finds a garment by its id, projected onto a {@link GarmentDto}.
      *
-     * @param type The type of the garment (e.g., SHIRT, PANTS, etc.) to filter by, or {@code null} to ignore this filter
-     * @param size The size of the garment (e.g., SMALL, MEDIUM, etc.) to filter by, or {@code null} to ignore this filter
-     * @param minPrice The minimum price of the garment to filter by, or {@code null} to ignore this filter
-     * @param maxPrice The maximum price of the garment to filter by, or {@code null} to ignore this filter
-     * @return a list of garments that match the given criteria
+     * @param id The id of the garment
+     * @return the garment, or an empty optional if there is no garment with this id
      */
-    @Query("SELECT g FROM GarmentEntity g WHERE " +
-            "(:type IS NULL OR g.type = :type) AND " +
-            "(:size IS NULL OR g.size = :size) AND " +
-            "(:minPrice IS NULL OR g.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR g.price <= :maxPrice)")
-    List<GarmentEntity> findByCriteria(
-            @Param("type") Type type,
-            @Param("size") Size size,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice);
+    @Query(SELECT_DTO + "WHERE g.id = :id")
+    Optional<GarmentDto> findDtoById(@Param("id") Long id);
 }
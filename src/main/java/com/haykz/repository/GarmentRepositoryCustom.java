@@ -0,0 +1,120 @@
+package com.haykz.repository;
+
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSearchHit;
+import com.haykz.dto.GarmentSort;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Catalog queries of the {@link GarmentRepository} that are built dynamically.
+ * <p>
+ * Only the filters the caller supplies end up in the generated SQL, so the database can plan every
+ * filter combination against the matching index instead of sharing one generic plan.
+ * </p>
+ */
+public interface GarmentRepositoryCustom {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip while streaming the catalog.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Finds a page of garments matching the filter, in the given order.
+     * The page starts right after the garment identified by the cursor, so the cost of a page does not
+     * depend on how deep into the listing it is. Garments without a price have no position in the
+     * {@link GarmentSort#PRICE} ordering and are not returned for it.
+     *
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @param sort The ordering of the garments
+     * @param after The cursor of the previous page, or {@code null} for the first page
+     * @param limit The maximum number of garments to return
+     * @return the garments of the page
+     */
+    List<GarmentDto> findPage(GarmentFilterDto filter, GarmentSort sort, GarmentCursor after, int limit);
+
+    /**
+     * Streams every garment matching the filter, ordered by id.
+     * <p>
+     * Rows are read from a database cursor {@value #EXPORT_FETCH_SIZE} at a time instead of being loaded
+     * into a list, so the stream must be consumed and closed inside a transaction. The rows are projected
+     * onto DTOs, which are not tracked by the persistence context.
+     * </p>
+     *
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @return a stream of the garments that match the filter
+     */
+    Stream<GarmentDto> streamByFilter(GarmentFilterDto filter);
+
+    /**
+     * Finds a page of the garments whose description matches a full-text search query and the filter,
+     * ordered by descending relevance and then by id.
+     * <p>
+     * The query is read as web search syntax: words, {@code "quoted phrases"}, {@code or} and {@code -excluded}
+     * words, matched against the English stems of the descriptions through their GIN index. Requires PostgreSQL.
+     * </p>
+     *
+     * @param query The search query
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @param after The {@link GarmentSort#RELEVANCE} cursor of the previous page, or {@code null} for the first page
+     * @param limit The maximum number of garments to return
+     * @return the matching garments of the page with their relevance
+     */
+    List<GarmentSearchHit> search(String query, GarmentFilterDto filter, GarmentCursor after, int limit);
+
+    /**
+     * Counts the garments matching the filter, and the garments per type, size and price bucket, in a single
+     * query. The counts of each facet apply the filters on the other facets only, within the query of that facet,
+     * so a filtered facet reads only the garments passing those filters.
+     * A facet no filter on the other facets restricts counts the whole catalog; it is copied from {@code catalog}
+     * when given instead of being counted again.
+     *
+     * @param filter The filters to apply; {@code null} attributes are ignored
+     * @param priceBounds The ascending lower bounds of the price buckets
+     * @param catalog The facets of the whole catalog under the same price bounds, or {@code null} to count them
+     * @return the facet counts
+     */
+    GarmentFacetsDto countFacets(GarmentFilterDto filter, List<BigDecimal> priceBounds, GarmentFacetsDto catalog);
+
+    /**
+     * Finds the garments of a publisher that are among the given ids and match the given filter.
+     *
+     * @param publisherId The id of the publisher
+     * @param ids The ids of the garments, or {@code null} to select by the filter only
+     * @param filter The filters to apply, or {@code null} to select by the ids only
+     * @param limit The maximum number of garments to return
+     * @return the selected garments, ordered by id
+     */
+    List<GarmentDto> findOwned(Long publisherId, Collection<Long> ids, GarmentFilterDto filter, int limit);
+
+    /**
+     * Changes the price of the garments {@link #findOwned} selects, in a single UPDATE statement.
+     * Either a new price or a factor applied to the current prices is given, the other being {@code null}.
+     * The version of every changed garment is incremented.
+     *
+     * @param publisherId The id of the publisher
+     * @param ids The ids of the garments, or {@code null} to select by the filter only
+     * @param filter The filters to apply, or {@code null} to select by the ids only
+     * @param price The new price of the garments
+     * @param priceFactor The factor the current prices are multiplied by
+     * @return the number of garments changed
+     */
+    int updateOwnedPrices(Long publisherId, Collection<Long> ids, GarmentFilterDto filter,
+                          BigDecimal price, BigDecimal priceFactor);
+
+    /**
+     * Deletes the garments of a publisher that are among the given ids, in a single DELETE statement.
+     *
+     * @param publisherId The id of the publisher
+     * @param ids The ids of the garments
+     * @return the number of garments deleted
+     */
+    int deleteOwned(Long publisherId, Collection<Long> ids);
+}
@@ -0,0 +1,386 @@
+package com.haykz.repository;
+
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSearchHit;
+import com.haykz.dto.GarmentSort;
+import com.haykz.dto.PriceBucketDto;
+import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Criteria API implementation of {@link GarmentRepositoryCustom}.
+ * <p>
+ * Each query is assembled from the filters actually supplied and projects the garment columns, together
+ * with the id and username of the publisher, onto a {@link GarmentDto}. The full-text search is written
+ * in native SQL, as the PostgreSQL text search operators have no JPQL counterpart, and so are the facet
+ * counts, which are one aggregate per facet unioned into a single query.
+ * </p>
+ */
+@AllArgsConstructor
+public class GarmentRepositoryCustomImpl implements GarmentRepositoryCustom {
+
+    // The facet counted by each row of the facet query
+    private static final int TYPE_FACET = 0;
+    private static final int SIZE_FACET = 1;
+    private static final int PRICE_FACET = 2;
+    private static final String NO_VALUE = "CAST(NULL AS VARCHAR(255))";
+    private static final String NO_BUCKET = "CAST(NULL AS INTEGER)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<GarmentDto> findPage(GarmentFilterDto filter, GarmentSort sort, GarmentCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GarmentDto> query = cb.createQuery(GarmentDto.class);
+        Root<GarmentEntity> garment = query.from(GarmentEntity.class);
+        Path<Long> id = garment.get("id");
+        Path<BigDecimal> price = garment.get("price");
+
+        List<Predicate> predicates = filterPredicates(cb, garment, filter);
+        if (sort == GarmentSort.PRICE) {
+            predicates.add(cb.isNotNull(price));
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.greaterThan(price, after.getPrice()),
+                        cb.and(cb.equal(price, after.getPrice()), cb.greaterThan(id, after.getId()))));
+            }
+            query.orderBy(cb.asc(price), cb.asc(id));
+        } else {
+            if (after != null) {
+                predicates.add(cb.greaterThan(id, after.getId()));
+            }
+            query.orderBy(cb.asc(id));
+        }
+
+        query.select(projection(cb, garment)).where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<GarmentDto> streamByFilter(GarmentFilterDto filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GarmentDto> query = cb.createQuery(GarmentDto.class);
+        Root<GarmentEntity> garment = query.from(GarmentEntity.class);
+
+        query.select(projection(cb, garment))
+                .where(filterPredicates(cb, garment, filter).toArray(new Predicate[0]))
+                .orderBy(cb.asc(garment.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<GarmentSearchHit> search(String query, GarmentFilterDto filter, GarmentCursor after, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("query", query);
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT * FROM (")
+                .append("SELECT g.id, g.type, g.description, g.size, g.price, u.id AS publisher_id, u.username,")
+                .append(" g.version, ts_rank(g.description_search, q.query) AS rank")
+                .append(" FROM garment_entity g")
+                .append(" CROSS JOIN websearch_to_tsquery('english', :query) AS q(query)")
+                .append(" LEFT JOIN user_entity u ON u.id = g.publisher_id")
+                .append(" WHERE g.description_search @@ q.query");
+        if (filter.getType() != null) {
+            sql.append(" AND g.type = :type");
+            parameters.put("type", filter.getType().name());
+        }
+        if (filter.getSize() != null) {
+            sql.append(" AND g.size = :size");
+            parameters.put("size", filter.getSize().name());
+        }
+        if (filter.getMinPrice() != null) {
+            sql.append(" AND g.price >= :minPrice");
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            sql.append(" AND g.price <= :maxPrice");
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+        sql.append(") hits");
+        if (after != null) {
+            // The rank is compared as the real the cursor was taken from, not as a double
+            sql.append(" WHERE hits.rank < CAST(:rank AS real)")
+                    .append(" OR (hits.rank = CAST(:rank AS real) AND hits.id > :afterId)");
+            parameters.put("rank", after.getRank());
+            parameters.put("afterId", after.getId());
+        }
+        sql.append(" ORDER BY hits.rank DESC, hits.id");
+
+        Query search = entityManager.createNativeQuery(sql.toString()).setMaxResults(limit);
+        parameters.forEach(search::setParameter);
+        List<?> rows = search.getResultList();
+
+        List<GarmentSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            GarmentDto garment = new GarmentDto(
+                    ((Number) row[0]).longValue(),
+                    row[1] != null ? Type.valueOf((String) row[1]) : null,
+                    (String) row[2],
+                    row[3] != null ? Size.valueOf((String) row[3]) : null,
+                    (BigDecimal) row[4],
+                    row[5] != null ? ((Number) row[5]).longValue() : null,
+                    (String) row[6],
+                    ((Number) row[7]).longValue());
+            hits.add(new GarmentSearchHit(garment, ((Number) row[8]).floatValue()));
+        }
+        return hits;
+    }
+
+    @Override
+    public GarmentFacetsDto countFacets(GarmentFilterDto filter, List<BigDecimal> priceBounds, GarmentFacetsDto catalog) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String type = null;
+        String size = null;
+        String price = null;
+        if (filter.getType() != null) {
+            type = "g.type = :type";
+            parameters.put("type", filter.getType().name());
+        }
+        if (filter.getSize() != null) {
+            size = "g.size = :size";
+            parameters.put("size", filter.getSize().name());
+        }
+        if (filter.getMinPrice() != null) {
+            price = "g.price >= :minPrice";
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            price = (price != null ? price + " AND " : "") + "g.price <= :maxPrice";
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+
+        StringBuilder bucket = new StringBuilder();
+        for (int i = priceBounds.size() - 1; i >= 0; i--) {
+            bucket.append(bucket.length() > 0 ? " " : "CASE").append(" WHEN g.price >= :bound").append(i)
+                    .append(" THEN ").append(i);
+            parameters.put("bound" + i, priceBounds.get(i));
+        }
+        bucket.append(bucket.length() > 0 ? " ELSE -1 END" : "-1");
+
+        // One aggregate per facet over the garments passing the filters on the other facets, which the catalog
+        // indexes serve; the type counts also add up to the total
+        List<String> aggregates = new ArrayList<>();
+        if (countsTypes(filter, catalog)) {
+            aggregates.add("SELECT " + TYPE_FACET + ", g.type, " + NO_VALUE + ", " + NO_BUCKET + ", COUNT(*)"
+                    + " FROM garment_entity g" + where(size, price) + " GROUP BY g.type");
+        }
+        if (countsSizes(filter, catalog)) {
+            aggregates.add("SELECT " + SIZE_FACET + ", " + NO_VALUE + ", g.size, " + NO_BUCKET + ", COUNT(*)"
+                    + " FROM garment_entity g" + where(type, price) + " GROUP BY g.size");
+        }
+        if (countsPrices(filter, catalog)) {
+            aggregates.add("SELECT " + PRICE_FACET + ", " + NO_VALUE + ", " + NO_VALUE + ", " + bucket + ", COUNT(*)"
+                    + " FROM garment_entity g" + where(type, size) + " GROUP BY 4");
+        }
+        if (aggregates.isEmpty()) {
+            return facetsOf(List.of(), filter, priceBounds, catalog);
+        }
+
+        String sql = String.join(" UNION ALL ", aggregates);
+        Query counts = entityManager.createNativeQuery(sql);
+        // Only the filters applied by one of the aggregates are bound
+        parameters.forEach((name, value) -> {
+            if (sql.matches("(?s).*:" + name + "\\b.*")) {
+                counts.setParameter(name, value);
+            }
+        });
+        return facetsOf(counts.getResultList(), filter, priceBounds, catalog);
+    }
+
+    @Override
+    public List<GarmentDto> findOwned(Long publisherId, Collection<Long> ids, GarmentFilterDto filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GarmentDto> query = cb.createQuery(GarmentDto.class);
+        Root<GarmentEntity> garment = query.from(GarmentEntity.class);
+
+        query.select(projection(cb, garment))
+                .where(ownedPredicates(cb, garment, publisherId, ids, filter).toArray(new Predicate[0]))
+                .orderBy(cb.asc(garment.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updateOwnedPrices(Long publisherId, Collection<Long> ids, GarmentFilterDto filter,
+                                 BigDecimal price, BigDecimal priceFactor) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<GarmentEntity> update = cb.createCriteriaUpdate(GarmentEntity.class);
+        Root<GarmentEntity> garment = update.from(GarmentEntity.class);
+        Path<BigDecimal> currentPrice = garment.get("price");
+        Path<Long> version = garment.get("version");
+
+        if (price != null) {
+            update.set(currentPrice, price);
+        } else {
+            update.set(currentPrice, cb.prod(currentPrice, priceFactor));
+        }
+        // Bulk statements bypass the versioning of the persistence context, so the version is incremented here
+        update.set(version, cb.sum(version, 1L));
+        update.where(ownedPredicates(cb, garment, publisherId, ids, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteOwned(Long publisherId, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<GarmentEntity> delete = cb.createCriteriaDelete(GarmentEntity.class);
+        Root<GarmentEntity> garment = delete.from(GarmentEntity.class);
+
+        delete.where(ownedPredicates(cb, garment, publisherId, ids, null).toArray(new Predicate[0]));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private List<Predicate> ownedPredicates(CriteriaBuilder cb, Root<GarmentEntity> garment, Long publisherId,
+                                            Collection<Long> ids, GarmentFilterDto filter) {
+        List<Predicate> predicates = filter != null ? filterPredicates(cb, garment, filter) : new ArrayList<>();
+        predicates.add(cb.equal(garment.get("publisher").get("id"), publisherId));
+        if (ids != null) {
+            predicates.add(garment.get("id").in(ids));
+        }
+        return predicates;
+    }
+
+    private CompoundSelection<GarmentDto> projection(CriteriaBuilder cb, Root<GarmentEntity> garment) {
+        Join<GarmentEntity, UserEntity> publisher = garment.join("publisher", JoinType.LEFT);
+        return cb.construct(GarmentDto.class,
+                garment.get("id"),
+                garment.get("type"),
+                garment.get("description"),
+                garment.get("size"),
+                garment.get("price"),
+                publisher.get("id"),
+                publisher.get("username"),
+                garment.get("version"));
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<GarmentEntity> garment, GarmentFilterDto filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(garment.get("type"), filter.getType()));
+        }
+        if (filter.getSize() != null) {
+            predicates.add(cb.equal(garment.get("size"), filter.getSize()));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(garment.<BigDecimal>get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(garment.<BigDecimal>get("price"), filter.getMaxPrice()));
+        }
+        return predicates;
+    }
+
+    private static String where(String... predicates) {
+        StringBuilder where = new StringBuilder();
+        for (String predicate : predicates) {
+            if (predicate != null) {
+                where.append(where.length() > 0 ? " AND " : " WHERE ").append(predicate);
+            }
+        }
+        return where.toString();
+    }
+
+    // A facet that no filter on the other facets restricts counts the whole catalog, so it is taken from the
+    // facets of the whole catalog when those are given
+    private static boolean countsTypes(GarmentFilterDto filter, GarmentFacetsDto catalog) {
+        return catalog == null || filter.getSize() != null || filtersPrice(filter);
+    }
+
+    private static boolean countsSizes(GarmentFilterDto filter, GarmentFacetsDto catalog) {
+        return catalog == null || filter.getType() != null || filtersPrice(filter);
+    }
+
+    private static boolean countsPrices(GarmentFilterDto filter, GarmentFacetsDto catalog) {
+        return catalog == null || filter.getType() != null || filter.getSize() != null;
+    }
+
+    private static boolean filtersPrice(GarmentFilterDto filter) {
+        return filter.getMinPrice() != null || filter.getMaxPrice() != null;
+    }
+
+    /**
+     * Adds up the rows of the facet query, each holding the facet it counts, a type, a size or the index of
+     * a price bucket or -1, and the number of garments sharing that value. The facets the query did not count
+     * are copied from the facets of the whole catalog.
+     */
+    static GarmentFacetsDto facetsOf(List<?> rows, GarmentFilterDto filter, List<BigDecimal> priceBounds,
+                                     GarmentFacetsDto catalog) {
+        long total = 0;
+        Map<Type, Long> types = new EnumMap<>(Type.class);
+        Map<Size, Long> sizes = new EnumMap<>(Size.class);
+        long[] buckets = new long[priceBounds.size()];
+        for (Type type : Type.values()) {
+            types.put(type, 0L);
+        }
+        for (Size size : Size.values()) {
+            sizes.put(size, 0L);
+        }
+
+        if (!countsTypes(filter, catalog)) {
+            types.putAll(catalog.getTypes());
+            total = filter.getType() != null ? types.get(filter.getType()) : catalog.getTotal();
+        }
+        if (!countsSizes(filter, catalog)) {
+            sizes.putAll(catalog.getSizes());
+        }
+        if (!countsPrices(filter, catalog)) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = catalog.getPrices().get(i).getCount();
+            }
+        }
+
+        for (Object result : rows) {
+            Object[] row = (Object[]) result;
+            int facet = ((Number) row[0]).intValue();
+            long count = ((Number) row[4]).longValue();
+            if (facet == TYPE_FACET) {
+                Type type = row[1] != null ? Type.valueOf((String) row[1]) : null;
+                if (type != null) {
+                    types.merge(type, count, Long::sum);
+                }
+                if (filter.getType() == null || filter.getType() == type) {
+                    total += count;
+                }
+            } else if (facet == SIZE_FACET) {
+                if (row[2] != null) {
+                    sizes.merge(Size.valueOf((String) row[2]), count, Long::sum);
+                }
+            } else {
+                int priceBucket = ((Number) row[3]).intValue();
+                if (priceBucket >= 0) {
+                    buckets[priceBucket] += count;
+                }
+            }
+        }
+
+        List<PriceBucketDto> prices = new ArrayList<>(priceBounds.size());
+        for (int i = 0; i < priceBounds.size(); i++) {
+            BigDecimal to = i + 1 < priceBounds.size() ? priceBounds.get(i + 1) : null;
+            prices.add(new PriceBucketDto(priceBounds.get(i), to, buckets[i]));
+        }
+        return new GarmentFacetsDto(total, types, sizes, prices);
+    }
+}
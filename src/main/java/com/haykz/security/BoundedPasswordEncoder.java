@@ -0,0 +1,104 @@
+package com.haykz.security;
+
+import com.haykz.config.AuthProperties;
+import com.haykz.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PasswordEncoder} that runs the hashing of a delegate encoder on a dedicated, bounded executor.
+ * <p>
+ * Password hashing is deliberately CPU-expensive. Running it on a fixed number of threads, one per core by
+ * default, caps the CPU a burst of logins or registrations can take away from the rest of the application.
+ * Requests beyond the capacity of the executor queue are rejected at once with a
+ * {@link PasswordHashingRejectedException} instead of waiting.
+ * </p>
+ * <p>
+ * The executor is published as the {@code executor.*} metrics tagged {@code name=passwordHashing}, which include
+ * the queue depth. The time spent hashing is published as the {@code password.hashing} timer and the rejected
+ * requests as the {@code password.hashing.rejected} counter, both tagged with the operation.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter encodeRejections;
+    private final Counter matchesRejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, AuthProperties.Hashing hashing, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, new ThreadPoolExecutor(
+                hashing.getThreads(), hashing.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.getQueueCapacity()), threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()), "passwordHashing");
+        this.encodeTimer = Timer.builder("password.hashing").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing").tag("operation", "matches").register(meterRegistry);
+        this.encodeRejections = Counter.builder("password.hashing.rejected").tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesRejections = Counter.builder("password.hashing.rejected").tag("operation", "matches")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, encodeRejections, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, matchesRejections, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Counter rejections, Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hashing));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException("Too many concurrent password checks, please retry shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.haykz.security;
 
 import com.haykz.service.impl.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,8 @@ import java.io.IOException;
  * This filter checks the "Authorization" header for a valid JWT token and, if the token is valid,
  * sets the authentication context in the security context. It also ensures that specific paths, such as
  * those related to user clothes, are ignored from token validation.
+ * The principal is looked up through the cache of {@link CustomUserDetailsService#loadPrincipalByUsername},
+ * so steady-state requests do not reach the database.
  * </p>
  */
 @Component
@@ -43,17 +46,18 @@ public class JWTRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+            // The token is verified and parsed once; its claims serve both the lookup and the validation
+            claims = jwtUtil.parseClaims(authorizationHeader.substring(7));
+            username = claims.getSubject();
         }
 
         try {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = this.userDetailsService.loadPrincipalByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (jwtUtil.validateClaims(claims, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
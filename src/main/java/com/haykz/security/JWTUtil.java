@@ -1,5 +1,7 @@
 package com.haykz.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,16 +16,24 @@ import java.util.Date;
  * <p>
  * This class uses HMAC SHA algorithms to sign and verify the JWT tokens. The token contains the username
  * as the subject and is signed with a secret key. The generated token is valid for one day.
+ * The signing key and the parser are built once, when the component is created, and are shared by all
+ * requests; both are immutable and thread-safe.
  * </p>
  */
 @Component
 public class JWTUtil {
-    @Value("${jwt.key}")
-    private String secretKey;
 
-    public String generateToken(String username) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public JWTUtil(@Value("${jwt.key}") String secretKey) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
 
+    public String generateToken(String username) {
         return Jwts.builder()
                 .subject(username)
                 .issuedAt(new Date())
@@ -32,17 +42,27 @@ public class JWTUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * Callers that need several things from the token should parse it once and work on the claims.
+     *
+     * @param token The signed token
+     * @return the claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload().getSubject();
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
     }
 
     public Boolean validateToken(String token, String username) {
-        return (username.equals(extractUsername(token)));
+        return validateClaims(parseClaims(token), username);
+    }
+
+    public Boolean validateClaims(Claims claims, String username) {
+        return username.equals(claims.getSubject());
     }
 }
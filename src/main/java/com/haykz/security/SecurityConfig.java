@@ -1,5 +1,7 @@
 package com.haykz.security;
 
+import com.haykz.config.AuthProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,10 +14,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 /**
  * Security configuration class for setting up authentication and authorization
  * policies in the application. This class configures HTTP security settings,
@@ -56,9 +62,38 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Provides the PasswordEncoder used for registrations and logins.
+     * Hashing runs on a bounded executor, so that a burst of logins cannot take the CPU away from other requests.
+     *
+     * @param authProperties the authentication properties holding the password encoding and the bounds of the
+     *                       hashing executor
+     * @param meterRegistry the registry the hashing metrics are published to
+     * @return a delegating PasswordEncoder running on a bounded executor
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AuthProperties authProperties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(authProperties.getPassword()),
+                authProperties.getHashing(), meterRegistry);
+    }
+
+    /**
+     * Creates the encoder of stored passwords.
+     * New hashes are prefixed with the id of their encoder, e.g. {@code {bcrypt}$2a$10$...}. Hashes stored before
+     * the prefix was introduced are plain BCrypt and still match. A hash reports that it needs an upgrade when
+     * it is unprefixed, was produced by another encoder, or has a lower BCrypt strength than configured;
+     * Spring Security then re-encodes the password upon the next successful login.
+     *
+     * @param password the configured encoding of passwords
+     * @return a DelegatingPasswordEncoder producing hashes with the configured encoder
+     */
+    static PasswordEncoder delegatingPasswordEncoder(AuthProperties.Password password) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(password.getBcryptStrength());
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(password.getEncodingId(), Map.of(
+                "bcrypt", bcrypt,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
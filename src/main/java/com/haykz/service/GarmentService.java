@@ -1,26 +1,39 @@
 package com.haykz.service;
 
+import com.haykz.dto.BulkPriceChangeDto;
+import com.haykz.dto.BulkResultDto;
 import com.haykz.dto.CreateGarmentDto;
 import com.haykz.dto.GarmentDto;
-import com.haykz.entity.Size;
-import com.haykz.entity.Type;
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentPageDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.dto.PublishResultDto;
+import com.haykz.dto.TermSuggestionDto;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for handling operations related to garments in the application.
  * <p>
  * This service provides methods for retrieving, publishing, updating, and deleting garments.
- * The methods allow for filtering garments based on criteria, managing garment details,
+ * The methods allow for filtering and paging through garments based on criteria, managing garment details,
  * and associating garments with users.
  * </p>
  */
 public interface GarmentService {
-    List<GarmentDto> getAllGarments(Type type, Size size, BigDecimal minPrice, BigDecimal maxPrice);
+    GarmentPageDto getAllGarments(GarmentFilterDto filter, GarmentSort sort, String cursor, Integer limit);
+    GarmentPageDto searchGarments(String query, GarmentFilterDto filter, String cursor, Integer limit);
+    List<TermSuggestionDto> suggestTerms(String prefix, Integer limit);
+    GarmentFacetsDto getFacets(GarmentFilterDto filter);
+    void exportGarments(GarmentFilterDto filter, Consumer<GarmentDto> consumer);
     GarmentDto getGarmentById(Long id);
     GarmentDto publishGarment(CreateGarmentDto createGarmentDTO, UserDetails userDetails);
-    GarmentDto updateGarment(Long id, CreateGarmentDto garmentDto, UserDetails userDetails);
+    List<PublishResultDto> publishGarments(List<CreateGarmentDto> createGarmentDtos, UserDetails userDetails);
+    GarmentDto updateGarment(Long id, CreateGarmentDto garmentDto, Long expectedVersion, UserDetails userDetails);
     void unpublishGarment(Long id, UserDetails userDetails);
+    BulkResultDto changePrices(BulkPriceChangeDto priceChange, UserDetails userDetails);
+    BulkResultDto unpublishGarments(List<Long> ids, UserDetails userDetails);
 }
\ No newline at end of file
@@ -1,15 +1,18 @@
 package com.haykz.service.impl;
 
+import com.haykz.config.CacheConfig;
+import com.haykz.datasource.ReadYourWrites;
 import com.haykz.dto.CreateUserDto;
 import com.haykz.dto.UserDto;
 import com.haykz.dto.authentication.AuthRequestDto;
 import com.haykz.dto.authentication.AuthResponseDto;
 import com.haykz.entity.UserEntity;
+import com.haykz.mapper.UserMapper;
 import com.haykz.repository.UserRepository;
 import com.haykz.security.JWTUtil;
 import com.haykz.service.AuthService;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,7 +36,8 @@ public class AuthServiceImpl implements AuthService {
     private final JWTUtil jwtUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final ReadYourWrites readYourWrites;
 
     @Override
     public AuthResponseDto authenticateUser(AuthRequestDto authRequest) {
@@ -58,15 +62,19 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_PRINCIPALS, key = "#createUserDTO.username")
     public UserDto registerUser(CreateUserDto createUserDTO) {
         if (userRepository.existsByUsername(createUserDTO.getUsername())) {
             throw new IllegalArgumentException("Username is already taken");
         }
 
-        UserEntity user = modelMapper.map(createUserDTO, UserEntity.class);
+        UserEntity user = userMapper.toEntity(createUserDTO);
         user.setPassword(passwordEncoder.encode(createUserDTO.getPassword()));
 
+        // The token the user is about to get is verified against a principal that is read from the primary until
+        // the replica has the user
+        readYourWrites.onUserRegistered(user.getUsername());
         UserEntity savedUser = userRepository.save(user);
-        return modelMapper.map(savedUser, UserDto.class);
+        return userMapper.toDto(savedUser);
     }
 }
@@ -1,9 +1,13 @@
 package com.haykz.service.impl;
 
+import com.haykz.config.CacheConfig;
+import com.haykz.datasource.ReadYourWrites;
 import com.haykz.entity.UserEntity;
 import com.haykz.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,12 +21,24 @@ import java.util.ArrayList;
  * object to be used for authentication and authorization purposes. If no user is found with the given username,
  * a {@link UsernameNotFoundException} is thrown.
  * </p>
+ * <p>
+ * Requests authenticated with a JWT only need to know who the user is, so their principals are served from the
+ * {@link CacheConfig#AUTHENTICATED_PRINCIPALS} cache and carry no password. They are read through
+ * {@link ReadYourWrites}, from the read replica when one is enabled, except for the users who have just registered:
+ * a token is issued right after registration, and a principal missing from a lagging replica would reject it.
+ * Logins keep reading the primary, as the password hash they read is the one a re-encoding replaces.
+ * </p>
+ * <p>
+ * As a {@link UserDetailsPasswordService}, it stores the new hash of a password that Spring Security re-encodes
+ * after a successful login because the stored hash uses an outdated encoding.
+ * </p>
  */
 @Service
 @AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -35,4 +51,45 @@ public class CustomUserDetailsService implements UserDetailsService {
                 new ArrayList<>()
         );
     }
+
+    /**
+     * Loads the principal of a request authenticated with a JWT.
+     * The principal is cached, and holds an empty password so that the cache keeps no password hashes.
+     *
+     * @param username The username taken from the verified token
+     * @return the principal of the user
+     * @throws UsernameNotFoundException if the user does not exist
+     */
+    @Cacheable(cacheNames = CacheConfig.AUTHENTICATED_PRINCIPALS, key = "#username", sync = true)
+    public UserDetails loadPrincipalByUsername(String username) throws UsernameNotFoundException {
+        UserEntity userEntity = readYourWrites.readUser(username, () -> userRepository.findByUsername(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        return new org.springframework.security.core.userdetails.User(
+                userEntity.getUsername(),
+                "",
+                new ArrayList<>()
+        );
+    }
+
+    /**
+     * Replaces the stored password hash of a user with one produced by the current encoding.
+     *
+     * @param user The user whose password was re-encoded
+     * @param newPassword The new hash of the password
+     * @return the user holding the new hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity userEntity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        userEntity.setPassword(newPassword);
+        userRepository.save(userEntity);
+
+        return new org.springframework.security.core.userdetails.User(
+                userEntity.getUsername(),
+                newPassword,
+                user.getAuthorities()
+        );
+    }
 }
@@ -1,53 +1,186 @@
 package com.haykz.service.impl;
 
-import com.haykz.dto.CreateGarmentDto;
-import com.haykz.dto.GarmentDto;
+import com.haykz.cache.GarmentListingKeyGenerator;
+import com.haykz.config.CacheConfig;
+import com.haykz.config.CatalogProperties;
+import com.haykz.datasource.ReadYourWrites;
+import com.haykz.dto.*;
 import com.haykz.entity.GarmentEntity;
-import com.haykz.entity.Size;
-import com.haykz.entity.Type;
 import com.haykz.entity.UserEntity;
+import com.haykz.event.GarmentChangedEvent;
 import com.haykz.exception.ResourceNotFoundException;
+import com.haykz.exception.StaleGarmentException;
+import com.haykz.index.DescriptionAutocomplete;
+import com.haykz.index.GarmentCatalogIndex;
+import com.haykz.mapper.GarmentMapper;
 import com.haykz.repository.GarmentRepository;
 import com.haykz.repository.UserRepository;
 import com.haykz.service.GarmentService;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link GarmentService} interface for managing garments.
  * <p>
  * This service provides methods for retrieving, publishing, updating, and unpublishing garments.
  * It interacts with the {@link GarmentRepository} and {@link UserRepository} to fetch and manipulate garment data
- * and uses {@link ModelMapper} to convert between entities and DTOs.
+ * and uses {@link GarmentMapper} to convert between entities and DTOs.
+ * Garment details, listing pages and facet counts are served through the {@link CacheConfig#GARMENT_DETAILS},
+ * {@link CacheConfig#GARMENT_LISTINGS} and {@link CacheConfig#GARMENT_FACETS} caches. Every write publishes a
+ * {@link GarmentChangedEvent} per garment, upon which the details of the garment, the listing pages it belongs
+ * to and the facet counts are evicted.
+ * Listing pages are read from the {@link GarmentCatalogIndex} when it is enabled and loaded, and search terms
+ * are completed from the {@link DescriptionAutocomplete}.
+ * Catalog reads go through {@link ReadYourWrites}, which runs them on the read replica unless they could miss a
+ * recent change.
  * </p>
  */
 @Service
 @AllArgsConstructor
 public class GarmentServiceImpl implements GarmentService {
 
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final GarmentRepository garmentRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final GarmentMapper garmentMapper;
+    private final CatalogProperties catalogProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GarmentCatalogIndex catalogIndex;
+    private final DescriptionAutocomplete autocomplete;
+    private final ReadYourWrites readYourWrites;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GARMENT_LISTINGS, keyGenerator = GarmentListingKeyGenerator.NAME, sync = true)
+    public GarmentPageDto getAllGarments(GarmentFilterDto filter, GarmentSort sort, String cursor, Integer limit) {
+        if (sort == GarmentSort.RELEVANCE) {
+            throw new IllegalArgumentException("Ordering by relevance requires a search query");
+        }
+        GarmentSort order = sort != null ? sort : GarmentSort.ID;
+        GarmentCursor after = cursor != null ? GarmentCursor.decode(cursor, order) : null;
+        int pageSize = resolvePageSize(limit);
+
+        // Fetch one extra row to find out whether another page follows
+        List<GarmentDto> garments = catalogIndex.findPage(filter, order, after, pageSize + 1)
+                .orElseGet(() -> readYourWrites.readGarments(filter,
+                        () -> garmentRepository.findPage(filter, order, after, pageSize + 1)));
+
+        List<GarmentDto> items = garments.size() > pageSize ? garments.subList(0, pageSize) : garments;
+        String next = garments.size() > pageSize
+                ? GarmentCursor.after(order, items.get(items.size() - 1)).encode()
+                : null;
+        return new GarmentPageDto(items, next);
+    }
+
+    /**
+     * Searches the garment descriptions and returns a page of the matching garments, most relevant first.
+     * <p>
+     * Search pages are read from the database and not cached: their keys would hardly ever repeat, and they
+     * would crowd the listing pages out of the cache.
+     * </p>
+     *
+     * @param query The search query, in web search syntax
+     * @param filter The filters the matching garments must also satisfy
+     * @param cursor The cursor returned with the previous page (optional)
+     * @param limit The number of garments per page, capped by the configured maximum (optional)
+     * @return the page of matching garments
+     */
+    @Override
+    public GarmentPageDto searchGarments(String query, GarmentFilterDto filter, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        GarmentCursor after = cursor != null ? GarmentCursor.decode(cursor, GarmentSort.RELEVANCE) : null;
+        int pageSize = resolvePageSize(limit);
+
+        // Fetch one extra row to find out whether another page follows
+        List<GarmentSearchHit> hits = readYourWrites.readGarments(filter,
+                () -> garmentRepository.search(query, filter, after, pageSize + 1));
+
+        List<GarmentSearchHit> pageHits = hits.size() > pageSize ? hits.subList(0, pageSize) : hits;
+        String next = hits.size() > pageSize
+                ? GarmentCursor.after(pageHits.get(pageHits.size() - 1)).encode()
+                : null;
+        List<GarmentDto> items = new ArrayList<>(pageHits.size());
+        pageHits.forEach(hit -> items.add(hit.getGarment()));
+        return new GarmentPageDto(items, next);
+    }
+
+    /**
+     * Suggests the description terms that complete a search query being typed.
+     *
+     * @param prefix The beginning of the term being typed
+     * @param limit The number of suggestions, capped by the configured maximum (optional)
+     * @return the suggested terms, shared by the most garments first
+     */
+    @Override
+    public List<TermSuggestionDto> suggestTerms(String prefix, Integer limit) {
+        CatalogProperties.Autocomplete properties = catalogProperties.getAutocomplete();
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Number of suggestions must be positive");
+        }
+        int count = limit != null ? Math.min(limit, properties.getMaxSuggestions()) : properties.getDefaultSuggestions();
+        return autocomplete.suggest(prefix, count);
+    }
+
+    /**
+     * Counts the garments matching a filter, per type, size and {@code catalog.facets.price-bounds} bucket,
+     * with a single query. The facets of the whole catalog are counted once, in the
+     * {@link CacheConfig#CATALOG_FACETS} cache, and supply the facets no other filter restricts, so only
+     * the filtered facets are counted per filter.
+     *
+     * @param filter The filters the counts apply
+     * @return the facet counts
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GARMENT_FACETS, key = "#filter", sync = true)
+    public GarmentFacetsDto getFacets(GarmentFilterDto filter) {
+        List<BigDecimal> priceBounds = catalogProperties.getFacets().getPriceBounds();
+        GarmentFilterDto wholeCatalog = new GarmentFilterDto();
+        // Every facet also counts garments outside of the filter
+        GarmentFacetsDto catalog = cacheManager.getCache(CacheConfig.CATALOG_FACETS).get(SimpleKey.EMPTY,
+                () -> readYourWrites.readGarments(wholeCatalog,
+                        () -> garmentRepository.countFacets(wholeCatalog, priceBounds, null)));
+        if (filter.equals(wholeCatalog)) {
+            return catalog;
+        }
+        return readYourWrites.readGarments(wholeCatalog,
+                () -> garmentRepository.countFacets(filter, priceBounds, catalog));
+    }
 
     @Override
-    public List<GarmentDto> getAllGarments(Type type, Size size, BigDecimal minPrice, BigDecimal maxPrice) {
-        List<GarmentEntity> garments = garmentRepository.findByCriteria(type, size, minPrice, maxPrice);
-        return garments.stream()
-                .map(garment -> modelMapper.map(garment, GarmentDto.class))  // Map each Garment to GarmentDTO
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void exportGarments(GarmentFilterDto filter, Consumer<GarmentDto> consumer) {
+        try (Stream<GarmentDto> garments = garmentRepository.streamByFilter(filter)) {
+            garments.forEach(consumer);
+        }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GARMENT_DETAILS, key = "#id", sync = true)
     public GarmentDto getGarmentById(Long id) {
-        GarmentEntity garment = garmentRepository.findById(id)
+        return readYourWrites.readGarment(id, () -> garmentRepository.findDtoById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Garment not found with id: " + id));
-        return modelMapper.map(garment, GarmentDto.class);  // Map Garment to GarmentDTO
     }
 
     @Override
@@ -55,29 +188,101 @@ public class GarmentServiceImpl implements GarmentService {
         UserEntity user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        GarmentEntity garment = modelMapper.map(createGarmentDTO, GarmentEntity.class);
+        GarmentEntity garment = garmentMapper.toEntity(createGarmentDTO);
         garment.setPublisher(user);
         GarmentEntity savedGarment = garmentRepository.save(garment);
-        return modelMapper.map(savedGarment, GarmentDto.class);  // Map saved Garment to GarmentDTO
+        GarmentDto publishedGarment = garmentMapper.toDto(savedGarment);
+        eventPublisher.publishEvent(GarmentChangedEvent.published(publishedGarment));
+        return publishedGarment;
+    }
+
+    /**
+     * Publishes a list of garments on behalf of one user.
+     * <p>
+     * The publisher is resolved once. Garments failing validation are rejected individually, and the rest are
+     * inserted in chunks of {@code catalog.bulk.chunk-size}, each in its own transaction and as JDBC batches.
+     * A chunk the database refuses is rejected as a whole, without affecting the chunks stored before it.
+     * </p>
+     *
+     * @param createGarmentDtos The garments to publish, at most {@code catalog.bulk.max-items} of them
+     * @param userDetails The authenticated user publishing the garments
+     * @return the outcome of every garment, in the order of the request
+     */
+    @Override
+    public List<PublishResultDto> publishGarments(List<CreateGarmentDto> createGarmentDtos, UserDetails userDetails) {
+        CatalogProperties.Bulk bulk = catalogProperties.getBulk();
+        if (createGarmentDtos.size() > bulk.getMaxItems()) {
+            throw new IllegalArgumentException("At most " + bulk.getMaxItems() + " garments can be published at once");
+        }
+        UserEntity user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        PublishResultDto[] results = new PublishResultDto[createGarmentDtos.size()];
+        List<Integer> accepted = new ArrayList<>(createGarmentDtos.size());
+        for (int index = 0; index < createGarmentDtos.size(); index++) {
+            String error = validate(createGarmentDtos.get(index));
+            if (error != null) {
+                results[index] = PublishResultDto.rejected(index, error);
+            } else {
+                accepted.add(index);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += bulk.getChunkSize()) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + bulk.getChunkSize(), accepted.size()));
+            List<GarmentEntity> garments = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                GarmentEntity garment = garmentMapper.toEntity(createGarmentDtos.get(index));
+                garment.setPublisher(user);
+                garments.add(garment);
+            }
+
+            List<GarmentEntity> savedGarments;
+            try {
+                savedGarments = garmentRepository.saveAll(garments);
+            } catch (DataAccessException e) {
+                for (int index : chunk) {
+                    results[index] = PublishResultDto.rejected(index, "The garment could not be stored");
+                }
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                GarmentDto publishedGarment = garmentMapper.toDto(savedGarments.get(i));
+                results[chunk.get(i)] = PublishResultDto.published(chunk.get(i), publishedGarment);
+                eventPublisher.publishEvent(GarmentChangedEvent.published(publishedGarment));
+            }
+        }
+        return Arrays.asList(results);
     }
 
     @Override
-    public GarmentDto updateGarment(Long id, CreateGarmentDto garmentDto, UserDetails userDetails) {
-        GarmentEntity existingGarment = garmentRepository.findById(id)
+    public GarmentDto updateGarment(Long id, CreateGarmentDto garmentDto, Long expectedVersion, UserDetails userDetails) {
+        GarmentEntity existingGarment = garmentRepository.findWithPublisherById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Garment not found with id: " + id));
 
         if (!existingGarment.getPublisher().getUsername().equals(userDetails.getUsername())) {
             throw new IllegalStateException("You are not authorized to update this garment");
         }
+        if (expectedVersion != null && !expectedVersion.equals(existingGarment.getVersion())) {
+            throw new StaleGarmentException("Garment " + id + " is no longer at version " + expectedVersion);
+        }
 
-        modelMapper.map(garmentDto, existingGarment);
-        GarmentEntity updatedGarment = garmentRepository.save(existingGarment);
-        return modelMapper.map(updatedGarment, GarmentDto.class);
+        GarmentDto previousGarment = garmentMapper.toDto(existingGarment);
+        garmentMapper.updateEntity(garmentDto, existingGarment);
+        GarmentEntity updatedGarment;
+        try {
+            updatedGarment = garmentRepository.save(existingGarment);
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleGarmentException("Garment " + id + " was changed by a concurrent update");
+        }
+        GarmentDto currentGarment = garmentMapper.toDto(updatedGarment);
+        eventPublisher.publishEvent(GarmentChangedEvent.updated(previousGarment, currentGarment));
+        return currentGarment;
     }
 
     @Override
     public void unpublishGarment(Long id, UserDetails userDetails) {
-        GarmentEntity existingGarment = garmentRepository.findById(id)
+        GarmentEntity existingGarment = garmentRepository.findWithPublisherById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Garment not found with id: " + id));
 
         // Check if the user is the publisher of the garment
@@ -85,6 +290,142 @@ public class GarmentServiceImpl implements GarmentService {
             throw new IllegalStateException("You are not authorized to unpublish this garment");
         }
 
+        GarmentDto unpublishedGarment = garmentMapper.toDto(existingGarment);
         garmentRepository.delete(existingGarment);
+        eventPublisher.publishEvent(GarmentChangedEvent.unpublished(unpublishedGarment));
+    }
+
+    /**
+     * Changes the price of many garments of the requesting seller in one UPDATE statement.
+     * <p>
+     * The garments are selected by ids or by filter, and the statement is scoped to the garments of the seller,
+     * so garments of other sellers are left untouched and not counted. The selected garments are read once
+     * beforehand, in the same transaction, to publish a {@link GarmentChangedEvent} for each of them. Every event
+     * evicts caches and updates the in-memory index, so a filter selecting more than
+     * {@code catalog.bulk.max-items} garments is refused before anything is changed.
+     * </p>
+     *
+     * @param priceChange The selection of garments and their new price or price factor
+     * @param userDetails The authenticated seller
+     * @return the number of garments changed
+     */
+    @Override
+    @Transactional
+    public BulkResultDto changePrices(BulkPriceChangeDto priceChange, UserDetails userDetails) {
+        validate(priceChange);
+        UserEntity user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        int maxItems = catalogProperties.getBulk().getMaxItems();
+        List<GarmentDto> garments = garmentRepository.findOwned(user.getId(), priceChange.getIds(),
+                priceChange.getFilter(), maxItems + 1);
+        if (garments.isEmpty()) {
+            return new BulkResultDto(0);
+        }
+        if (garments.size() > maxItems) {
+            throw new IllegalArgumentException("The filter selects more than " + maxItems
+                    + " garments, which cannot be changed at once");
+        }
+        int affected = garmentRepository.updateOwnedPrices(user.getId(), priceChange.getIds(), priceChange.getFilter(),
+                priceChange.getPrice(), priceChange.getPriceFactor());
+
+        for (GarmentDto previousGarment : garments) {
+            GarmentDto currentGarment = new GarmentDto(previousGarment.getId(), previousGarment.getType(),
+                    previousGarment.getDescription(), previousGarment.getSize(),
+                    newPrice(previousGarment.getPrice(), priceChange), previousGarment.getPublisher(),
+                    previousGarment.getVersion() != null ? previousGarment.getVersion() + 1 : null);
+            eventPublisher.publishEvent(GarmentChangedEvent.updated(previousGarment, currentGarment));
+        }
+        return new BulkResultDto(affected);
+    }
+
+    /**
+     * Unpublishes many garments of the requesting seller in one DELETE statement.
+     * The statement is scoped to the garments of the seller, so ids of garments of other sellers are ignored.
+     *
+     * @param ids The ids of the garments to unpublish
+     * @param userDetails The authenticated seller
+     * @return the number of garments unpublished
+     */
+    @Override
+    @Transactional
+    public BulkResultDto unpublishGarments(List<Long> ids, UserDetails userDetails) {
+        validateIds(ids);
+        UserEntity user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        List<GarmentDto> garments = garmentRepository.findOwned(user.getId(), ids, null, ids.size());
+        if (garments.isEmpty()) {
+            return new BulkResultDto(0);
+        }
+        int affected = garmentRepository.deleteOwned(user.getId(), ids);
+
+        garments.forEach(garment -> eventPublisher.publishEvent(GarmentChangedEvent.unpublished(garment)));
+        return new BulkResultDto(affected);
+    }
+
+    private void validate(BulkPriceChangeDto priceChange) {
+        if (priceChange.getIds() == null && priceChange.getFilter() == null) {
+            throw new IllegalArgumentException("Either ids or a filter must be given");
+        }
+        if (priceChange.getIds() != null) {
+            validateIds(priceChange.getIds());
+        }
+        if ((priceChange.getPrice() == null) == (priceChange.getPriceFactor() == null)) {
+            throw new IllegalArgumentException("Exactly one of price and priceFactor must be given");
+        }
+        if (priceChange.getPrice() != null && priceChange.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("Price must not be negative");
+        }
+        if (priceChange.getPriceFactor() != null && priceChange.getPriceFactor().signum() <= 0) {
+            throw new IllegalArgumentException("Price factor must be positive");
+        }
+    }
+
+    private void validateIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No garments were selected");
+        }
+        int maxItems = catalogProperties.getBulk().getMaxItems();
+        if (ids.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " garments can be selected by id at once");
+        }
+    }
+
+    private BigDecimal newPrice(BigDecimal price, BulkPriceChangeDto priceChange) {
+        // Mirrors the rounding of the NUMERIC(38, 2) price column
+        if (priceChange.getPrice() != null) {
+            return priceChange.getPrice().setScale(2, RoundingMode.HALF_UP);
+        }
+        return price != null ? price.multiply(priceChange.getPriceFactor()).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    private String validate(CreateGarmentDto garment) {
+        if (garment == null) {
+            return "Garment details are missing";
+        }
+        if (garment.getType() == null) {
+            return "Type is required";
+        }
+        if (garment.getSize() == null) {
+            return "Size is required";
+        }
+        if (garment.getPrice() == null || garment.getPrice().signum() < 0) {
+            return "Price is required and must not be negative";
+        }
+        if (garment.getDescription() != null && garment.getDescription().length() > 255) {
+            return "Description must not exceed 255 characters";
+        }
+        return null;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return catalogProperties.getPage().getDefaultSize();
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(limit, catalogProperties.getPage().getMaxSize());
     }
 }
@@ -0,0 +1,18 @@
+CREATE TABLE user_entity
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name VARCHAR(255),
+    address   VARCHAR(255),
+    username  VARCHAR(255),
+    password  VARCHAR(255)
+);
+
+CREATE TABLE garment_entity
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type         VARCHAR(255) CHECK (type IN ('SHIRT', 'PANTS', 'JACKET', 'DRESS')),
+    description  VARCHAR(255),
+    size         VARCHAR(255) CHECK (size IN ('SMALL', 'MEDIUM', 'LARGE')),
+    price        NUMERIC(38, 2),
+    publisher_id BIGINT REFERENCES user_entity (id)
+);
@@ -0,0 +1,12 @@
+-- Catalog filters: every index ends with the keyset columns of the listing, (id) or (price, id),
+-- so a filtered page is a single index range scan in the requested order.
+CREATE INDEX idx_garment_type_size_id ON garment_entity (type, size, id);
+CREATE INDEX idx_garment_type_size_price ON garment_entity (type, size, price, id);
+CREATE INDEX idx_garment_size_price ON garment_entity (size, price, id);
+CREATE INDEX idx_garment_price ON garment_entity (price, id);
+
+-- Ownership lookups and the foreign key to the publisher
+CREATE INDEX idx_garment_publisher ON garment_entity (publisher_id);
+
+-- User lookup on every login and publish
+CREATE INDEX idx_user_username ON user_entity (username);
@@ -0,0 +1,4 @@
+-- Garment ids are drawn from a sequence in blocks of 50, so that Hibernate can assign the ids of new garments
+-- without a round trip per row and send their INSERTs as JDBC batches.
+-- The id column keeps its identity default for rows inserted outside the application.
+CREATE SEQUENCE garment_entity_seq START WITH 1 INCREMENT BY 50;
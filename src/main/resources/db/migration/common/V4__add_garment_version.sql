@@ -0,0 +1,3 @@
+-- Row version of every garment, incremented by Hibernate on each update of the garment.
+-- Updates carrying an outdated version are refused, and the version is sent to clients as the ETag of the garment.
+ALTER TABLE garment_entity ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
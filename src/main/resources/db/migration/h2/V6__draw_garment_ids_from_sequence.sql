@@ -0,0 +1,9 @@
+-- Garment ids are only drawn from garment_entity_seq: the identity default, which counted independently of the
+-- sequence, is replaced by the sequence, so rows inserted outside the application cannot collide with the ids
+-- Hibernate hands out.
+ALTER TABLE garment_entity ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE garment_entity ALTER COLUMN id SET DEFAULT NEXT VALUE FOR garment_entity_seq;
+
+-- Moves the sequence past the ids handed out by the identity column; Hibernate treats each value of the
+-- sequence as the upper end of a block of 50 ids, hence the offset
+ALTER SEQUENCE garment_entity_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM garment_entity);
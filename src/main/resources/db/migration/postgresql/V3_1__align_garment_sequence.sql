@@ -0,0 +1,3 @@
+-- Moves the garment sequence past the ids already handed out by the identity column.
+-- Hibernate treats each value of the sequence as the upper end of a block of 50 ids, hence the offset.
+SELECT setval('garment_entity_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM garment_entity), false);
@@ -0,0 +1,7 @@
+-- Full-text search over garment descriptions: the stemmed lexemes of every description are kept in a generated
+-- column and indexed with GIN, so a search query is an index lookup instead of a scan of the descriptions.
+ALTER TABLE garment_entity
+    ADD COLUMN description_search tsvector
+        GENERATED ALWAYS AS (to_tsvector('english', coalesce(description, ''))) STORED;
+
+CREATE INDEX idx_garment_description_search ON garment_entity USING GIN (description_search);
@@ -0,0 +1,11 @@
+-- Garment ids are only drawn from garment_entity_seq: the identity default, which counted independently of the
+-- sequence, is replaced by the sequence, so rows inserted outside the application cannot collide with the ids
+-- Hibernate hands out. A value taken directly is never inside a block of 50 Hibernate took.
+ALTER TABLE garment_entity ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE garment_entity ALTER COLUMN id SET DEFAULT nextval('garment_entity_seq');
+
+-- Moves the sequence past the ids handed out by the identity column since V3_1, never backwards
+SELECT setval('garment_entity_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) + 50 FROM garment_entity),
+                       (SELECT last_value + 50 FROM garment_entity_seq)),
+              false);
@@ -0,0 +1,56 @@
+package com.haykz.cache;
+
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentListingKeyTest {
+
+    private final GarmentDto garment = GarmentDto.builder()
+            .id(1L)
+            .type(Type.SHIRT)
+            .size(Size.MEDIUM)
+            .price(BigDecimal.valueOf(25))
+            .build();
+
+    @Test
+    public void of_ShouldDefaultToIdSort_WhenSortIsNull() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+
+        assertEquals(GarmentListingKey.of(filter, GarmentSort.ID, null, 20), GarmentListingKey.of(filter, null, null, 20));
+    }
+
+    @Test
+    public void matches_ShouldReturnTrue_WhenGarmentFallsWithinFilter() {
+        assertTrue(key(null, null, null, null).matches(garment));
+        assertTrue(key(Type.SHIRT, Size.MEDIUM, null, null).matches(garment));
+        assertTrue(key(null, Size.MEDIUM, BigDecimal.valueOf(25), BigDecimal.valueOf(25)).matches(garment));
+    }
+
+    @Test
+    public void matches_ShouldReturnFalse_WhenGarmentFallsOutsideFilter() {
+        assertFalse(key(Type.PANTS, null, null, null).matches(garment));
+        assertFalse(key(Type.SHIRT, Size.LARGE, null, null).matches(garment));
+        assertFalse(key(null, null, BigDecimal.valueOf(30), null).matches(garment));
+        assertFalse(key(null, null, null, BigDecimal.valueOf(20)).matches(garment));
+    }
+
+    @Test
+    public void matches_ShouldReturnFalse_WhenPriceRangeIsGivenAndGarmentHasNoPrice() {
+        GarmentDto unpriced = GarmentDto.builder().type(Type.SHIRT).build();
+
+        assertTrue(key(Type.SHIRT, null, null, null).matches(unpriced));
+        assertFalse(key(Type.SHIRT, null, BigDecimal.ONE, null).matches(unpriced));
+    }
+
+    private GarmentListingKey key(Type type, Size size, BigDecimal minPrice, BigDecimal maxPrice) {
+        return GarmentListingKey.of(new GarmentFilterDto(type, size, minPrice, maxPrice), null, null, null);
+    }
+}
@@ -1,10 +1,10 @@
 package com.haykz.config;
 
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -13,10 +13,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 public class AppConfigTest {
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RequestMatcher ignoredPaths;
+
+    @Autowired
+    private CatalogProperties catalogProperties;
 
     @Test
     public void contextLoads() {
-        assertNotNull(modelMapper, "ModelMapper bean should not be null");
+        assertNotNull(ignoredPaths, "RequestMatcher bean should not be null");
+        assertNotNull(catalogProperties, "CatalogProperties bean should not be null");
     }
 }
@@ -4,12 +4,14 @@ import com.haykz.dto.CreateUserDto;
 import com.haykz.dto.UserDto;
 import com.haykz.dto.authentication.AuthRequestDto;
 import com.haykz.dto.authentication.AuthResponseDto;
+import com.haykz.exception.PasswordHashingRejectedException;
 import com.haykz.service.AuthService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -93,6 +95,20 @@ public class AuthControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
-}
 
+    @Test
+    public void authenticateUser_ShouldReturnTooManyRequests_WhenPasswordHashingIsSaturated() {
+        AuthRequestDto authRequest = AuthRequestDto.builder()
+                .username("testuser")
+                .password("password")
+                .build();
+
+        when(authService.authenticateUser(any(AuthRequestDto.class)))
+                .thenThrow(new PasswordHashingRejectedException("Too many concurrent password checks, please retry shortly"));
+
+        ResponseEntity<?> response = authController.authenticate(authRequest);
 
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -1,24 +1,51 @@
 package com.haykz.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haykz.cache.CatalogVersion;
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentColumnsDto;
 import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentPageDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.dto.TermSuggestionDto;
+import com.haykz.dto.UserDto;
 import com.haykz.entity.Size;
 import com.haykz.entity.Type;
 import com.haykz.exception.ResourceNotFoundException;
 import com.haykz.service.GarmentService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +54,23 @@ public class GarmentControllerTest {
     @Mock
     private GarmentService garmentService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Spy
+    private CatalogProperties catalogProperties = new CatalogProperties();
+
     @InjectMocks
     private GarmentController garmentController;
 
+    @BeforeEach
+    public void setUp() {
+        catalogProperties.getHttpCache().setSingleInstance(true);
+    }
+
     @Test
     public void getAllClothes_ShouldReturnGarmentList_WhenValidParams() {
         GarmentDto garment1 = GarmentDto.builder()
@@ -46,24 +87,257 @@ public class GarmentControllerTest {
                 .build();
         List<GarmentDto> garments = Arrays.asList(garment1, garment2);
 
-        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(garments);
+        when(garmentService.getAllGarments(any(), any(), any(), any()))
+                .thenReturn(new GarmentPageDto(garments, "next-cursor"));
 
-        ResponseEntity<List<GarmentDto>> response = garmentController.getAllClothes(null, null, null, null);
+        ResponseEntity<?> response = garmentController.getAllClothes(null, null, null, null, null, GarmentSort.ID, null, null, null, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, ((GarmentPageDto) response.getBody()).getItems().size());
+        assertEquals("next-cursor", ((GarmentPageDto) response.getBody()).getNext());
     }
 
     @Test
     public void getAllClothes_ShouldReturnEmptyList_WhenNoGarmentsMatch() {
-        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(List.of());
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(null, null, null, null, null, GarmentSort.ID, null, null, null, null);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(((GarmentPageDto) response.getBody()).getItems().isEmpty());
+        assertNull(((GarmentPageDto) response.getBody()).getNext());
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnBadRequest_WhenCursorIsInvalid() {
+        when(garmentService.getAllGarments(any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: broken"));
 
-        ResponseEntity<List<GarmentDto>> response = garmentController.getAllClothes(null, null, null, null);
+        ResponseEntity<?> response = garmentController.getAllClothes(null, null, null, null, null, GarmentSort.ID, "broken", null, null, null);
 
         assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid cursor: broken", response.getBody());
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnValidatorsAndLifetimeOfShape() {
+        catalogProperties.getHttpCache().getMaxAgeByShape().put("type-price", Duration.ofMinutes(1));
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                Type.SHIRT, null, null, BigDecimal.TEN, null, GarmentSort.ID, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"" + catalogVersion.current().getTag() + "\"", response.getHeaders().getETag());
+        assertEquals(catalogVersion.current().getLastModified().toEpochMilli(), response.getHeaders().getLastModified());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void getAllClothes_ShouldSearchDescriptions_WhenQueryIsGiven() {
+        catalogProperties.getHttpCache().getMaxAgeByShape().put("q-type", Duration.ofSeconds(30));
+        GarmentDto shirt = GarmentDto.builder().id(1L).type(Type.SHIRT).description("Blue linen shirt").build();
+        when(garmentService.searchGarments(eq("linen"), any(GarmentFilterDto.class), isNull(), isNull()))
+                .thenReturn(new GarmentPageDto(List.of(shirt), null));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                Type.SHIRT, null, null, null, "  linen ", GarmentSort.ID, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(shirt), ((GarmentPageDto) response.getBody()).getItems());
+        assertEquals("max-age=30, public", response.getHeaders().getCacheControl());
+        verify(garmentService, never()).getAllGarments(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getAllClothes_ShouldListGarments_WhenQueryIsBlank() {
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                null, null, null, null, " ", GarmentSort.ID, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(garmentService, never()).searchGarments(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnNotModifiedWithoutReadingCatalog_WhenIfNoneMatchIsCurrent() {
+        String eTag = "W/\"" + catalogVersion.current().getTag() + "\"";
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                null, null, null, null, null, GarmentSort.ID, null, null, eTag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("max-age=10, public", response.getHeaders().getCacheControl());
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnPage_WhenCatalogChangedSinceIfNoneMatch() {
+        String eTag = "W/\"" + catalogVersion.current().getTag() + "\"";
+        catalogVersion.onGarmentChanged(null);
+        when(garmentService.getAllGarments(any(GarmentFilterDto.class), any(), any(), any()))
+                .thenReturn(new GarmentPageDto(List.of(), null));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                null, null, null, null, null, GarmentSort.ID, null, null, eTag, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnNotModified_WhenNotModifiedSinceIfModifiedSince() {
+        String ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(catalogVersion.current().getLastModified().atZone(ZoneOffset.UTC));
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                null, null, null, null, null, GarmentSort.ID, null, null, null, ifModifiedSince);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void getAllClothes_ShouldReturnPageWithoutValidators_WhenNotSingleInstance() {
+        catalogProperties.getHttpCache().setSingleInstance(false);
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+        String eTag = "W/\"" + catalogVersion.current().getTag() + "\"";
+
+        ResponseEntity<?> response = garmentController.getAllClothes(
+                null, null, null, null, null, GarmentSort.ID, null, null, eTag, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+        assertEquals(-1, response.getHeaders().getLastModified());
+        assertEquals("max-age=10, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void getAllClothesColumnar_ShouldReturnOneArrayPerAttribute() {
+        GarmentDto shirt = GarmentDto.builder().id(1L).type(Type.SHIRT).price(BigDecimal.TEN)
+                .publisher(UserDto.builder().id(3L).username("seller").build()).build();
+        GarmentDto pants = GarmentDto.builder().id(2L).type(Type.PANTS).build();
+        when(garmentService.getAllGarments(any(), any(), any(), any()))
+                .thenReturn(new GarmentPageDto(List.of(shirt, pants), "next-cursor"));
+
+        ResponseEntity<?> response = garmentController.getAllClothesColumnar(
+                null, null, null, null, null, GarmentSort.ID, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        GarmentColumnsDto columns = (GarmentColumnsDto) response.getBody();
+        assertEquals(List.of(1L, 2L), columns.getId());
+        assertEquals(List.of(Type.SHIRT, Type.PANTS), columns.getType());
+        assertEquals(Arrays.asList(3L, null), columns.getPublisherId());
+        assertEquals(Arrays.asList("seller", null), columns.getPublisherUsername());
+        assertEquals("next-cursor", columns.getNext());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+    }
+
+    @Test
+    public void getAllClothesColumnar_ShouldTagRepresentationsDifferently() {
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+
+        String jsonETag = garmentController.getAllClothes(
+                null, null, null, null, null, GarmentSort.ID, null, null, null, null).getHeaders().getETag();
+        String columnarETag = garmentController.getAllClothesColumnar(
+                null, null, null, null, null, GarmentSort.ID, null, null, null, null).getHeaders().getETag();
+
+        assertNotEquals(jsonETag, columnarETag);
+        assertEquals("W/\"" + catalogVersion.current().getTag() + "-columnar\"", columnarETag);
+    }
+
+    @Test
+    public void getAllClothesColumnar_ShouldReturnPage_WhenIfNoneMatchHoldsTagOfJsonRepresentation() {
+        when(garmentService.getAllGarments(any(), any(), any(), any())).thenReturn(new GarmentPageDto(List.of(), null));
+        String jsonETag = "W/\"" + catalogVersion.current().getTag() + "\"";
+
+        ResponseEntity<?> response = garmentController.getAllClothesColumnar(
+                null, null, null, null, null, GarmentSort.ID, null, null, jsonETag, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void getFacets_ShouldReturnCountsWithValidators() {
+        GarmentFacetsDto facets = GarmentFacetsDto.builder().total(3).build();
+        when(garmentService.getFacets(GarmentFilterDto.builder().size(Size.MEDIUM).build())).thenReturn(facets);
+
+        ResponseEntity<?> response = garmentController.getFacets(null, Size.MEDIUM, null, null, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(facets, response.getBody());
+        assertEquals("W/\"" + catalogVersion.current().getTag() + "\"", response.getHeaders().getETag());
+        assertEquals("max-age=10, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void getFacets_ShouldReturnNotModifiedWithoutCounting_WhenIfNoneMatchIsCurrent() {
+        String eTag = "W/\"" + catalogVersion.current().getTag() + "\"";
+
+        ResponseEntity<?> response = garmentController.getFacets(Type.SHIRT, null, null, null, eTag, null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void getFacets_ShouldReturnCountsWithoutValidators_WhenNotSingleInstance() {
+        catalogProperties.getHttpCache().setSingleInstance(false);
+        GarmentFacetsDto facets = GarmentFacetsDto.builder().total(3).build();
+        when(garmentService.getFacets(GarmentFilterDto.builder().type(Type.SHIRT).build())).thenReturn(facets);
+        String eTag = "W/\"" + catalogVersion.current().getTag() + "\"";
+
+        ResponseEntity<?> response = garmentController.getFacets(Type.SHIRT, null, null, null, eTag, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(facets, response.getBody());
+        assertNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    public void suggestTerms_ShouldReturnSuggestionsWithLifetime() {
+        List<TermSuggestionDto> suggestions = List.of(new TermSuggestionDto("linen", 12), new TermSuggestionDto("lined", 3));
+        when(garmentService.suggestTerms("lin", null)).thenReturn(suggestions);
+
+        ResponseEntity<?> response = garmentController.suggestTerms("lin", null);
+
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        assertEquals(suggestions, response.getBody());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void suggestTerms_ShouldReturnBadRequest_WhenLimitIsNotPositive() {
+        when(garmentService.suggestTerms("lin", 0))
+                .thenThrow(new IllegalArgumentException("Number of suggestions must be positive"));
+
+        ResponseEntity<?> response = garmentController.suggestTerms("lin", 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void exportClothes_ShouldWriteOneGarmentPerLine() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<GarmentDto> consumer = invocation.getArgument(1);
+            consumer.accept(GarmentDto.builder().id(1L).type(Type.SHIRT).build());
+            consumer.accept(GarmentDto.builder().id(2L).type(Type.PANTS).build());
+            return null;
+        }).when(garmentService).exportGarments(any(), any());
+
+        ResponseEntity<StreamingResponseBody> response = garmentController.exportClothes(null, null, null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], GarmentDto.class).getId());
+        assertEquals(Type.PANTS, objectMapper.readValue(lines[1], GarmentDto.class).getType());
     }
 
     @Test
@@ -77,7 +351,7 @@ public class GarmentControllerTest {
 
         when(garmentService.getGarmentById(1L)).thenReturn(garment);
 
-        ResponseEntity<?> response = garmentController.getClothes(1L);
+        ResponseEntity<?> response = garmentController.getClothes(1L, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -88,11 +362,40 @@ public class GarmentControllerTest {
     public void getClothes_ShouldReturnBadRequest_WhenGarmentNotFound() {
         when(garmentService.getGarmentById(999L)).thenThrow(new ResourceNotFoundException("Garment not found"));
 
-        ResponseEntity<?> response = garmentController.getClothes(999L);
+        ResponseEntity<?> response = garmentController.getClothes(999L, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Garment not found", response.getBody());
     }
-}
 
+    @Test
+    public void getClothes_ShouldReturnETagOfVersion() {
+        when(garmentService.getGarmentById(1L)).thenReturn(GarmentDto.builder().id(1L).version(3L).build());
+
+        ResponseEntity<?> response = garmentController.getClothes(1L, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void getClothes_ShouldReturnNotModified_WhenIfNoneMatchNamesCurrentVersion() {
+        when(garmentService.getGarmentById(1L)).thenReturn(GarmentDto.builder().id(1L).version(3L).build());
+
+        ResponseEntity<?> response = garmentController.getClothes(1L, "\"2\", W/\"3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void getClothes_ShouldReturnGarment_WhenIfNoneMatchNamesOutdatedVersion() {
+        when(garmentService.getGarmentById(1L)).thenReturn(GarmentDto.builder().id(1L).version(3L).build());
+
+        ResponseEntity<?> response = garmentController.getClothes(1L, "\"2\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+}
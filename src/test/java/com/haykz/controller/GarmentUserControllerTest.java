@@ -1,24 +1,34 @@
 package com.haykz.controller;
 
+import com.haykz.dto.BulkPriceChangeDto;
+import com.haykz.dto.BulkResultDto;
 import com.haykz.dto.CreateGarmentDto;
 import com.haykz.dto.GarmentDto;
+import com.haykz.dto.PublishResultDto;
 import com.haykz.entity.Size;
 import com.haykz.entity.Type;
 import com.haykz.exception.ResourceNotFoundException;
+import com.haykz.exception.StaleGarmentException;
 import com.haykz.service.GarmentService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -84,10 +94,10 @@ public class GarmentUserControllerTest {
                 .price(BigDecimal.TWO)
                 .build();
 
-        when(garmentService.updateGarment(any(Long.class), any(CreateGarmentDto.class), any(UserDetails.class)))
+        when(garmentService.updateGarment(any(Long.class), any(CreateGarmentDto.class), isNull(), any(UserDetails.class)))
                 .thenReturn(updatedGarmentDto);
 
-        ResponseEntity<?> response = garmentUserController.updateGarment(garmentId, createGarmentDto, userDetails);
+        ResponseEntity<?> response = garmentUserController.updateGarment(garmentId, createGarmentDto, null, userDetails);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -100,16 +110,58 @@ public class GarmentUserControllerTest {
         Long garmentId = 999L;
         CreateGarmentDto createGarmentDto = createGarmentDto();
 
-        when(garmentService.updateGarment(any(Long.class), any(CreateGarmentDto.class), any(UserDetails.class)))
+        when(garmentService.updateGarment(any(Long.class), any(CreateGarmentDto.class), isNull(), any(UserDetails.class)))
                 .thenThrow(new ResourceNotFoundException("Garment not found"));
 
-        ResponseEntity<?> response = garmentUserController.updateGarment(garmentId, createGarmentDto, userDetails);
+        ResponseEntity<?> response = garmentUserController.updateGarment(garmentId, createGarmentDto, null, userDetails);
 
         assertNotNull(response);
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Garment not found", response.getBody());
     }
 
+    @Test
+    public void updateGarment_ShouldReturnNewETag_WhenIfMatchIsCurrent() {
+        CreateGarmentDto createGarmentDto = createGarmentDto();
+        GarmentDto updatedGarmentDto = GarmentDto.builder().id(1L).version(4L).build();
+
+        when(garmentService.updateGarment(eq(1L), any(CreateGarmentDto.class), eq(3L), any(UserDetails.class)))
+                .thenReturn(updatedGarmentDto);
+
+        ResponseEntity<?> response = garmentUserController.updateGarment(1L, createGarmentDto, "\"3\"", userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void updateGarment_ShouldReturnPreconditionFailed_WhenIfMatchIsOutdated() {
+        when(garmentService.updateGarment(eq(1L), any(CreateGarmentDto.class), eq(2L), any(UserDetails.class)))
+                .thenThrow(new StaleGarmentException("Garment 1 is no longer at version 2"));
+
+        ResponseEntity<?> response = garmentUserController.updateGarment(1L, createGarmentDto(), "\"2\"", userDetails);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    public void updateGarment_ShouldReturnPreconditionFailed_WhenIfMatchIsWeak() {
+        ResponseEntity<?> response = garmentUserController.updateGarment(1L, createGarmentDto(), "W/\"3\"", userDetails);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        verifyNoInteractions(garmentService);
+    }
+
+    @Test
+    public void updateGarment_ShouldReturnConflict_WhenConcurrentUpdateWinsWithoutIfMatch() {
+        when(garmentService.updateGarment(eq(1L), any(CreateGarmentDto.class), isNull(), any(UserDetails.class)))
+                .thenThrow(new StaleGarmentException("Garment 1 was changed by a concurrent update"));
+
+        ResponseEntity<?> response = garmentUserController.updateGarment(1L, createGarmentDto(), null, userDetails);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     private CreateGarmentDto createGarmentDto() {
         return CreateGarmentDto.builder()
                 .type(Type.SHIRT)
@@ -118,5 +170,72 @@ public class GarmentUserControllerTest {
                 .price(BigDecimal.TWO)
                 .build();
     }
-}
 
+    @Test
+    public void publishGarments_ShouldReturnResultPerGarment_WhenValidRequest() {
+        List<CreateGarmentDto> garments = List.of(new CreateGarmentDto(), new CreateGarmentDto());
+        List<PublishResultDto> results = List.of(
+                PublishResultDto.published(0, GarmentDto.builder().id(1L).build()),
+                PublishResultDto.rejected(1, "Type is required"));
+
+        when(garmentService.publishGarments(anyList(), any(UserDetails.class))).thenReturn(results);
+
+        ResponseEntity<?> response = garmentUserController.publishGarments(garments, userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    public void publishGarments_ShouldReturnBadRequest_WhenTooManyGarments() {
+        when(garmentService.publishGarments(anyList(), any(UserDetails.class)))
+                .thenThrow(new IllegalArgumentException("At most 1000 garments can be published at once"));
+
+        ResponseEntity<?> response = garmentUserController.publishGarments(List.of(), userDetails);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void changePrices_ShouldReturnAffectedCount_WhenValidRequest() {
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().ids(List.of(1L, 2L)).price(BigDecimal.TEN).build();
+
+        when(garmentService.changePrices(any(BulkPriceChangeDto.class), any(UserDetails.class))).thenReturn(new BulkResultDto(2));
+
+        ResponseEntity<?> response = garmentUserController.changePrices(priceChange, userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new BulkResultDto(2), response.getBody());
+    }
+
+    @Test
+    public void changePrices_ShouldReturnBadRequest_WhenRequestIsInvalid() {
+        when(garmentService.changePrices(any(BulkPriceChangeDto.class), any(UserDetails.class)))
+                .thenThrow(new IllegalArgumentException("Exactly one of price and priceFactor must be given"));
+
+        ResponseEntity<?> response = garmentUserController.changePrices(new BulkPriceChangeDto(), userDetails);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Exactly one of price and priceFactor must be given", response.getBody());
+    }
+
+    @Test
+    public void unpublishGarments_ShouldReturnAffectedCount_WhenValidRequest() {
+        when(garmentService.unpublishGarments(anyList(), any(UserDetails.class))).thenReturn(new BulkResultDto(1));
+
+        ResponseEntity<?> response = garmentUserController.unpublishGarments(List.of(1L, 2L), userDetails);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new BulkResultDto(1), response.getBody());
+    }
+
+    @Test
+    public void unpublishGarments_ShouldReturnBadRequest_WhenUserDoesNotExist() {
+        when(garmentService.unpublishGarments(anyList(), any(UserDetails.class)))
+                .thenThrow(new ResourceNotFoundException("User not found"));
+
+        ResponseEntity<?> response = garmentUserController.unpublishGarments(List.of(1L), userDetails);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
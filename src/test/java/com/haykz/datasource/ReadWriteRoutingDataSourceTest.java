@@ -0,0 +1,96 @@
+package com.haykz.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private DataSource primary;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private DataSource replica;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private Connection primaryConnection;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private Connection replicaConnection;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private LazyConnectionDataSourceProxy dataSource;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica);
+        dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    public void determineCurrentLookupKey_ShouldRouteToPrimary_WhenNoTransactionIsActive() {
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void getConnection_ShouldUseReplica_WhenTransactionIsReadOnly() throws SQLException {
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.executeWithoutResult(status -> query());
+
+        verify(replica).getConnection();
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    public void getConnection_ShouldUsePrimary_WhenTransactionIsReadWrite() throws SQLException {
+        transactionTemplate.executeWithoutResult(status -> query());
+
+        verify(primary).getConnection();
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void getConnection_ShouldUsePrimary_WhenNoTransactionIsActive() throws SQLException {
+        query();
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    private void query() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.haykz.datasource;
+
+import com.haykz.config.ReplicaProperties;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.event.GarmentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadYourWritesTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ReplicaProperties replicaProperties = new ReplicaProperties();
+
+    private final GarmentDto shirt = GarmentDto.builder()
+            .id(1L)
+            .type(Type.SHIRT)
+            .size(Size.MEDIUM)
+            .price(BigDecimal.valueOf(25))
+            .build();
+
+    @BeforeEach
+    public void setUp() {
+        replicaProperties.setEnabled(true);
+    }
+
+    @Test
+    public void readGarment_ShouldReadReplica_WhenGarmentHasNotChanged() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onGarmentChanged(GarmentChangedEvent.published(shirt));
+
+        assertEquals("garment", readYourWrites.readGarment(2L, () -> "garment"));
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    public void readGarment_ShouldReadPrimary_WhenGarmentHasJustChanged() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onGarmentChanged(GarmentChangedEvent.published(shirt));
+
+        assertEquals("garment", readYourWrites.readGarment(1L, () -> "garment"));
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void readGarments_ShouldReadPrimary_WhenChangedGarmentMatchedFilterBeforeChange() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        GarmentDto pants = GarmentDto.builder().id(1L).type(Type.PANTS).size(Size.MEDIUM).build();
+        readYourWrites.onGarmentChanged(GarmentChangedEvent.updated(shirt, pants));
+
+        readYourWrites.readGarments(GarmentFilterDto.builder().type(Type.SHIRT).build(), () -> "page");
+        readYourWrites.readGarments(GarmentFilterDto.builder().type(Type.PANTS).build(), () -> "page");
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void readGarments_ShouldReadReplica_WhenNoChangedGarmentMatchesFilter() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onGarmentChanged(GarmentChangedEvent.unpublished(shirt));
+
+        readYourWrites.readGarments(GarmentFilterDto.builder().size(Size.LARGE).build(), () -> "page");
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    public void readGarments_ShouldReadReplica_WhenChangeIsOlderThanMaxLag() {
+        replicaProperties.setMaxLag(Duration.ZERO);
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onGarmentChanged(GarmentChangedEvent.published(shirt));
+
+        readYourWrites.readGarments(new GarmentFilterDto(), () -> "page");
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    public void readGarments_ShouldReadWithoutTransaction_WhenReplicaIsDisabled() {
+        replicaProperties.setEnabled(false);
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+
+        assertEquals("page", readYourWrites.readGarments(new GarmentFilterDto(), () -> "page"));
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void readUser_ShouldReadPrimary_WhenUserHasJustRegistered() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onUserRegistered("seller");
+
+        assertEquals("user", readYourWrites.readUser("seller", () -> "user"));
+
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void readUser_ShouldReadReplica_WhenUserHasNotRegisteredRecently() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(transactionManager, replicaProperties);
+        readYourWrites.onUserRegistered("seller");
+
+        readYourWrites.readUser("buyer", () -> "user");
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+}
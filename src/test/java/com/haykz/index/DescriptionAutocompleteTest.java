@@ -0,0 +1,107 @@
+package com.haykz.index;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.TermSuggestionDto;
+import com.haykz.event.GarmentChangedEvent;
+import com.haykz.repository.GarmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DescriptionAutocompleteTest {
+
+    @Mock
+    private GarmentRepository garmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DescriptionAutocomplete autocomplete;
+
+    @BeforeEach
+    public void setUp() {
+        autocomplete = new DescriptionAutocomplete(garmentRepository, transactionManager, new CatalogProperties());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        autocomplete.destroy();
+    }
+
+    @Test
+    public void termsOf_ShouldSplitDescriptionIntoDistinctLowerCaseWords() {
+        assertEquals(Set.of("blue", "linen", "shirt", "100"), DescriptionAutocomplete.termsOf("Blue LINEN shirt, 100% linen - a"));
+        assertTrue(DescriptionAutocomplete.termsOf(null).isEmpty());
+    }
+
+    @Test
+    public void suggest_ShouldReturnNothing_UntilTermsAreLoaded() {
+        assertTrue(autocomplete.suggest("li", 10).isEmpty());
+    }
+
+    @Test
+    public void suggest_ShouldRankTermsByNumberOfGarments_AfterChanges() {
+        when(garmentRepository.streamByFilter(any(GarmentFilterDto.class)))
+                .thenReturn(Stream.of(garment(1L, "Linen shirt"), garment(2L, "Light jacket"), garment(3L, "Linen pants")));
+        autocomplete.rebuild();
+
+        autocomplete.onGarmentChanged(GarmentChangedEvent.published(garment(4L, "Light linen dress")));
+        autocomplete.onGarmentChanged(GarmentChangedEvent.updated(garment(2L, "Light jacket"), garment(2L, "Leather jacket")));
+
+        assertEquals(List.of(new TermSuggestionDto("linen", 3), new TermSuggestionDto("light", 1)),
+                autocomplete.suggest(" LI", 10));
+    }
+
+    @Test
+    public void rebuild_ShouldApplyChangesOnce_WhenCatalogReadAlreadySawThem() {
+        when(garmentRepository.streamByFilter(any(GarmentFilterDto.class))).thenAnswer(invocation -> {
+            // Committed after the rebuild started but before the catalog was read
+            autocomplete.onGarmentChanged(GarmentChangedEvent.unpublished(garment(3L, "Linen pants")));
+            autocomplete.onGarmentChanged(GarmentChangedEvent.updated(garment(2L, "Light jacket"),
+                    garment(2L, "Linen jacket", 1L)));
+            // Committed after the catalog was read
+            autocomplete.onGarmentChanged(GarmentChangedEvent.published(garment(4L, "Linen dress")));
+            autocomplete.onGarmentChanged(GarmentChangedEvent.updated(garment(2L, "Linen jacket", 1L),
+                    garment(2L, "Leather jacket", 2L)));
+            return Stream.of(garment(1L, "Linen shirt"), garment(2L, "Linen jacket", 1L));
+        });
+
+        autocomplete.rebuild();
+
+        assertEquals(List.of(new TermSuggestionDto("linen", 2)), autocomplete.suggest("lin", 10));
+        assertEquals(List.of(new TermSuggestionDto("leather", 1)), autocomplete.suggest("le", 10));
+        assertTrue(autocomplete.suggest("pa", 10).isEmpty());
+        assertTrue(autocomplete.suggest("lig", 10).isEmpty());
+    }
+
+    @Test
+    public void suggest_ShouldReturnNothing_WhenPrefixIsBlank() {
+        when(garmentRepository.streamByFilter(any(GarmentFilterDto.class))).thenReturn(Stream.of(garment(1L, "Linen shirt")));
+        autocomplete.rebuild();
+
+        assertTrue(autocomplete.suggest("  ", 10).isEmpty());
+    }
+
+    private static GarmentDto garment(Long id, String description) {
+        return garment(id, description, 0L);
+    }
+
+    private static GarmentDto garment(Long id, String description, Long version) {
+        return GarmentDto.builder().id(id).description(description).version(version).build();
+    }
+}
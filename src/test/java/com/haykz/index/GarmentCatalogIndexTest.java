@@ -0,0 +1,80 @@
+package com.haykz.index;
+
+import com.haykz.config.CatalogProperties;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.Type;
+import com.haykz.event.GarmentChangedEvent;
+import com.haykz.repository.GarmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GarmentCatalogIndexTest {
+
+    @Mock
+    private GarmentRepository garmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GarmentCatalogIndex catalogIndex;
+
+    @BeforeEach
+    public void setUp() {
+        CatalogProperties catalogProperties = new CatalogProperties();
+        catalogProperties.getIndex().setEnabled(true);
+        catalogIndex = new GarmentCatalogIndex(garmentRepository, transactionManager, catalogProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        catalogIndex.destroy();
+    }
+
+    @Test
+    public void findPage_ShouldReturnNothing_UntilIndexIsLoaded() {
+        assertEquals(Optional.empty(), catalogIndex.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 10));
+    }
+
+    @Test
+    public void findPage_ShouldServeLoadedAndChangedGarments() {
+        when(garmentRepository.streamByFilter(any(GarmentFilterDto.class)))
+                .thenReturn(Stream.of(garment(1L, Type.SHIRT), garment(2L, Type.PANTS)));
+        catalogIndex.rebuild();
+
+        catalogIndex.onGarmentChanged(GarmentChangedEvent.published(garment(3L, Type.SHIRT)));
+        catalogIndex.onGarmentChanged(GarmentChangedEvent.unpublished(garment(1L, Type.SHIRT)));
+
+        List<GarmentDto> shirts = catalogIndex.findPage(GarmentFilterDto.builder().type(Type.SHIRT).build(),
+                GarmentSort.ID, null, 10).orElseThrow();
+        assertEquals(List.of(3L), shirts.stream().map(GarmentDto::getId).toList());
+    }
+
+    @Test
+    public void findPage_ShouldReturnNothing_WhenCatalogCannotBeLoaded() {
+        when(garmentRepository.streamByFilter(any(GarmentFilterDto.class))).thenThrow(new IllegalStateException("down"));
+
+        catalogIndex.rebuild();
+
+        assertEquals(Optional.empty(), catalogIndex.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 10));
+    }
+
+    private static GarmentDto garment(Long id, Type type) {
+        return GarmentDto.builder().id(id).type(type).version(0L).build();
+    }
+}
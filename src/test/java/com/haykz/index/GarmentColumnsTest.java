@@ -0,0 +1,150 @@
+package com.haykz.index;
+
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentColumnsTest {
+
+    private GarmentColumns columns;
+
+    @BeforeEach
+    public void setUp() {
+        columns = new GarmentColumns();
+        columns.upsert(garment(1L, Type.SHIRT, Size.SMALL, "30.00"));
+        columns.upsert(garment(2L, Type.PANTS, Size.MEDIUM, "10.00"));
+        columns.upsert(garment(3L, Type.SHIRT, Size.MEDIUM, "20.00"));
+        columns.upsert(garment(4L, Type.SHIRT, Size.MEDIUM, null));
+        columns.upsert(garment(5L, Type.SHIRT, Size.LARGE, "10.00"));
+    }
+
+    @Test
+    public void findPage_ShouldIntersectTypeAndSize_InIdOrder() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).size(Size.MEDIUM).build();
+
+        assertEquals(List.of(3L, 4L), ids(columns.findPage(filter, GarmentSort.ID, null, 10)));
+    }
+
+    @Test
+    public void findPage_ShouldExcludeUnpricedGarments_WhenPriceIsFiltered() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().minPrice(new BigDecimal("10.001")).maxPrice(BigDecimal.valueOf(30)).build();
+
+        assertEquals(List.of(1L, 3L), ids(columns.findPage(filter, GarmentSort.ID, null, 10)));
+    }
+
+    @Test
+    public void findPage_ShouldResumeAfterCursor_WhenOrderedById() {
+        GarmentCursor after = GarmentCursor.after(GarmentSort.ID, garment(2L, null, null, null));
+
+        assertEquals(List.of(3L, 4L), ids(columns.findPage(new GarmentFilterDto(), GarmentSort.ID, after, 2)));
+    }
+
+    @Test
+    public void findPage_ShouldOrderByPriceThenId_AndResumeAfterCursor() {
+        GarmentFilterDto filter = new GarmentFilterDto();
+
+        assertEquals(List.of(2L, 5L, 3L, 1L), ids(columns.findPage(filter, GarmentSort.PRICE, null, 10)));
+        GarmentCursor after = GarmentCursor.after(GarmentSort.PRICE, garment(2L, null, null, "10.00"));
+        assertEquals(List.of(5L, 3L), ids(columns.findPage(filter, GarmentSort.PRICE, after, 2)));
+    }
+
+    @Test
+    public void findPage_ShouldReturnStoredAttributes() {
+        GarmentDto garment = columns.findPage(GarmentFilterDto.builder().type(Type.PANTS).build(), GarmentSort.ID, null, 1).get(0);
+
+        assertEquals(2L, garment.getId());
+        assertEquals(Size.MEDIUM, garment.getSize());
+        assertEquals(new BigDecimal("10.00"), garment.getPrice());
+        assertEquals("Garment 2", garment.getDescription());
+        assertEquals(7L, garment.getPublisher().getId());
+        assertEquals("seller", garment.getPublisher().getUsername());
+        assertEquals(1L, garment.getVersion());
+    }
+
+    @Test
+    public void upsert_ShouldMoveGarmentInEveryIndex_WhenGarmentChanges() {
+        columns.upsert(garment(2L, Type.SHIRT, Size.MEDIUM, "40.00"));
+
+        assertEquals(List.of(5L, 3L, 1L, 2L), ids(columns.findPage(new GarmentFilterDto(), GarmentSort.PRICE, null, 10)));
+        assertTrue(columns.findPage(GarmentFilterDto.builder().type(Type.PANTS).build(), GarmentSort.ID, null, 10).isEmpty());
+        assertEquals(5, columns.size());
+    }
+
+    @Test
+    public void upsert_ShouldKeepIdOrder_WhenIdsArriveInDescendingOrder() {
+        GarmentColumns descending = new GarmentColumns();
+        for (long id = 10; id >= 1; id--) {
+            descending.upsert(garment(id, id % 2 == 0 ? Type.SHIRT : Type.PANTS, Size.SMALL, id + ".00"));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L),
+                ids(descending.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 20)));
+        assertEquals(List.of(2L, 4L, 6L, 8L, 10L),
+                ids(descending.findPage(GarmentFilterDto.builder().type(Type.SHIRT).build(), GarmentSort.ID, null, 20)));
+        GarmentCursor after = GarmentCursor.after(GarmentSort.ID, garment(4L, null, null, null));
+        assertEquals(List.of(5L, 6L), ids(descending.findPage(new GarmentFilterDto(), GarmentSort.ID, after, 2)));
+        assertEquals(List.of(1L, 2L, 3L), ids(descending.findPage(
+                GarmentFilterDto.builder().maxPrice(BigDecimal.valueOf(3)).build(), GarmentSort.PRICE, null, 20)));
+    }
+
+    @Test
+    public void findPage_ShouldMergeGarmentsAddedOutOfOrder_WithLoadedGarments() {
+        columns.upsert(garment(9L, Type.DRESS, Size.SMALL, "5.00"));
+        columns.upsert(garment(7L, Type.SHIRT, Size.MEDIUM, "25.00"));
+        columns.upsert(garment(8L, Type.SHIRT, Size.MEDIUM, null));
+        columns.remove(7L);
+        columns.upsert(garment(6L, Type.SHIRT, Size.MEDIUM, "15.00"));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 8L, 9L),
+                ids(columns.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 10)));
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).size(Size.MEDIUM).build();
+        GarmentCursor after = GarmentCursor.after(GarmentSort.ID, garment(3L, null, null, null));
+        assertEquals(List.of(4L, 6L), ids(columns.findPage(filter, GarmentSort.ID, after, 2)));
+        assertEquals(List.of(9L, 2L, 5L, 6L, 3L, 1L), ids(columns.findPage(new GarmentFilterDto(), GarmentSort.PRICE, null, 10)));
+        assertEquals(8, columns.size());
+    }
+
+    @Test
+    public void load_ShouldSortPricesOnce_AndAcceptLaterChanges() {
+        GarmentColumns loaded = GarmentColumns.load(Stream.of(
+                garment(1L, Type.SHIRT, Size.SMALL, "30.00"),
+                garment(2L, Type.PANTS, Size.MEDIUM, "10.00"),
+                garment(3L, Type.SHIRT, Size.MEDIUM, "10.00"),
+                garment(4L, Type.SHIRT, Size.MEDIUM, null)));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(loaded.findPage(new GarmentFilterDto(), GarmentSort.PRICE, null, 10)));
+        loaded.upsert(garment(3L, Type.SHIRT, Size.MEDIUM, "40.00"));
+        loaded.upsert(garment(5L, Type.DRESS, Size.LARGE, "20.00"));
+        assertEquals(List.of(2L, 5L, 1L, 3L), ids(loaded.findPage(new GarmentFilterDto(), GarmentSort.PRICE, null, 10)));
+        assertEquals(5, loaded.size());
+    }
+
+    @Test
+    public void remove_ShouldDropGarmentFromEveryIndex() {
+        columns.remove(5L);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(columns.findPage(new GarmentFilterDto(), GarmentSort.PRICE, null, 10)));
+        assertEquals(List.of(1L, 3L, 4L), ids(columns.findPage(GarmentFilterDto.builder().type(Type.SHIRT).build(), GarmentSort.ID, null, 10)));
+        assertEquals(4, columns.size());
+    }
+
+    private static GarmentDto garment(Long id, Type type, Size size, String price) {
+        return new GarmentDto(id, type, "Garment " + id, size, price != null ? new BigDecimal(price) : null,
+                7L, "seller", 1L);
+    }
+
+    private static List<Long> ids(List<GarmentDto> garments) {
+        return garments.stream().map(GarmentDto::getId).toList();
+    }
+}
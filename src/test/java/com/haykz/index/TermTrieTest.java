@@ -0,0 +1,67 @@
+package com.haykz.index;
+
+import com.haykz.dto.TermSuggestionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TermTrieTest {
+
+    private TermTrie trie;
+
+    @BeforeEach
+    public void setUp() {
+        trie = new TermTrie();
+        add("linen", 5);
+        add("lined", 2);
+        add("line", 2);
+        add("light", 7);
+        add("leather", 9);
+    }
+
+    @Test
+    public void suggest_ShouldReturnHeaviestTermsOfPrefix_AlphabeticallyAmongEqualWeights() {
+        assertEquals(List.of("light", "linen", "line", "lined"), terms(trie.suggest("li", 10)));
+        assertEquals(List.of(new TermSuggestionDto("light", 7), new TermSuggestionDto("linen", 5)), trie.suggest("li", 2));
+    }
+
+    @Test
+    public void suggest_ShouldReturnNothing_WhenNoTermHasPrefix() {
+        assertTrue(trie.suggest("wool", 10).isEmpty());
+        assertTrue(trie.suggest("linens", 10).isEmpty());
+    }
+
+    @Test
+    public void remove_ShouldLowerRankAndDropTermsWithoutGarments() {
+        for (int i = 0; i < 6; i++) {
+            trie.remove("light");
+        }
+        trie.remove("line");
+        trie.remove("line");
+        trie.remove("line");
+
+        assertEquals(List.of(new TermSuggestionDto("linen", 5), new TermSuggestionDto("lined", 2),
+                new TermSuggestionDto("light", 1)), trie.suggest("li", 10));
+    }
+
+    @Test
+    public void remove_ShouldIgnoreUnknownTerms() {
+        trie.remove("wool");
+        trie.remove("lin");
+
+        assertEquals(List.of("linen", "line", "lined"), terms(trie.suggest("lin", 10)));
+    }
+
+    private void add(String term, int times) {
+        for (int i = 0; i < times; i++) {
+            trie.add(term);
+        }
+    }
+
+    private static List<String> terms(List<TermSuggestionDto> suggestions) {
+        return suggestions.stream().map(TermSuggestionDto::getTerm).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.haykz.loadtest;
+
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the database of the load-test harness with users and garments.
+ * <p>
+ * Every user is called {@code user<n>} and has the password {@value #PASSWORD}; the password is hashed once
+ * and the hash shared, so seeding does not pay for thousands of BCrypt rounds. Garments are spread evenly
+ * across publishers, types and sizes, with prices between 5.00 and 500.00. The generator is seeded, so
+ * every run gets the same catalog.
+ * </p>
+ * <p>
+ * Garments get the ids 1 to {@code garments}, which the detail requests of the load mix pick from, and the garment
+ * sequence is then moved past them, so the garments published during the run do not collide with the fixtures.
+ * </p>
+ */
+public class CatalogFixtures {
+
+    public static final String PASSWORD = "password";
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public CatalogFixtures(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public static String username(int user) {
+        return "user" + user;
+    }
+
+    public void seed(int users, int garments) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"User " + i, "Street " + i, username(i), hash});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_entity (full_name, address, username, password) VALUES (?, ?, ?, ?)", userRows);
+        List<Long> publishers = jdbcTemplate.queryForList("SELECT id FROM user_entity ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        List<Object[]> garmentRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < garments; i++) {
+            garmentRows.add(new Object[]{
+                    (long) i + 1,
+                    Type.values()[i % Type.values().length].name(),
+                    "Garment " + i,
+                    Size.values()[(i / Type.values().length) % Size.values().length].name(),
+                    BigDecimal.valueOf(500 + random.nextInt(49_501), 2),
+                    publishers.get(i % publishers.size())});
+            if (garmentRows.size() == BATCH_SIZE || i == garments - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO garment_entity (id, type, description, size, price, publisher_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", garmentRows);
+                garmentRows.clear();
+            }
+        }
+        // Each value of the sequence is the upper end of the next block of 50 ids
+        jdbcTemplate.execute("ALTER SEQUENCE garment_entity_seq RESTART WITH " + ((long) garments + 50));
+    }
+}
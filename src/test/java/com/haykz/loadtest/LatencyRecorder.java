@@ -0,0 +1,63 @@
+package com.haykz.loadtest;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency of every request of the load test per endpoint and summarizes it.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Summarizes the recorded requests, ordered by endpoint.
+     *
+     * @param seconds The measured duration, used to compute the throughput
+     * @return the summary of every endpoint
+     */
+    public Map<String, Summary> summarize(double seconds) {
+        Map<String, Summary> summaries = new TreeMap<>();
+        latencies.forEach((endpoint, samples) -> {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            LongAdder failed = errors.get(endpoint);
+            summaries.put(endpoint, new Summary(sorted.length, failed != null ? failed.sum() : 0,
+                    sorted.length / seconds, percentile(sorted, 50), percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1_000_000.0));
+        });
+        return summaries;
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Load-test results of one endpoint; latencies are in milliseconds and throughput in requests per second.
+     */
+    @Value
+    public static class Summary {
+        long requests;
+        long errors;
+        double throughput;
+        double p50;
+        double p99;
+        double max;
+    }
+}
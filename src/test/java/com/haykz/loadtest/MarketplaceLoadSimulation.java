@@ -0,0 +1,219 @@
+package com.haykz.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load-test harness of the marketplace.
+ * <p>
+ * Boots the whole application on a random port against the in-memory database of the {@code loadtest} profile,
+ * seeds it through {@link CatalogFixtures}, then runs concurrent clients issuing a weighted mix of catalog
+ * browsing, garment details, logins and publications. After a warm-up, the latency percentiles and the
+ * throughput of every endpoint are printed and written to {@code target/loadtest-report.csv}.
+ * </p>
+ * <p>
+ * The class is not picked up by the regular test run. Run it with {@code mvn -Ploadtest verify}; every
+ * {@code loadtest.*} key of {@code application-loadtest.properties} can be overridden with {@code -D}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class MarketplaceLoadSimulation {
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.csv");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Value("${loadtest.users}")
+    private int users;
+
+    @Value("${loadtest.garments}")
+    private int garments;
+
+    @Value("${loadtest.clients}")
+    private int clients;
+
+    @Value("${loadtest.warm-up}")
+    private Duration warmUp;
+
+    @Value("${loadtest.duration}")
+    private Duration duration;
+
+    @Value("${loadtest.mix.browse}")
+    private int browseWeight;
+
+    @Value("${loadtest.mix.detail}")
+    private int detailWeight;
+
+    @Value("${loadtest.mix.authenticate}")
+    private int authenticateWeight;
+
+    @Value("${loadtest.mix.publish}")
+    private int publishWeight;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final List<String> tokens = new ArrayList<>();
+
+    @Test
+    void run() throws Exception {
+        new CatalogFixtures(jdbcTemplate, passwordEncoder).seed(users, garments);
+        for (int user = 0; user < Math.min(users, clients); user++) {
+            tokens.add(authenticate(user));
+        }
+
+        runFor(warmUp, new LatencyRecorder());
+        LatencyRecorder recorder = new LatencyRecorder();
+        runFor(duration, recorder);
+
+        Map<String, LatencyRecorder.Summary> summaries = recorder.summarize(duration.toMillis() / 1000.0);
+        report(summaries);
+        assertTrue(summaries.values().stream().allMatch(summary -> summary.getRequests() > 0),
+                "Every endpoint of the mix should have been exercised");
+    }
+
+    private void runFor(Duration period, LatencyRecorder recorder) throws Exception {
+        long deadline = System.nanoTime() + period.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int client = 0; client < clients; client++) {
+                String token = tokens.get(client % tokens.size());
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        issueRequest(token, recorder);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void issueRequest(String token, LatencyRecorder recorder) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(browseWeight + detailWeight + authenticateWeight + publishWeight);
+        if (pick < browseWeight) {
+            // Mostly type and size filters, sometimes a price bound, like the browse pages
+            StringBuilder query = new StringBuilder("/clothes?limit=20");
+            if (random.nextInt(4) > 0) {
+                query.append("&type=").append(Type.values()[random.nextInt(Type.values().length)]);
+            }
+            if (random.nextInt(2) > 0) {
+                query.append("&size=").append(Size.values()[random.nextInt(Size.values().length)]);
+            }
+            if (random.nextInt(5) == 0) {
+                query.append("&maxPrice=").append(50 + random.nextInt(200));
+            }
+            send("GET /clothes", get(query.toString()), recorder);
+        } else if ((pick -= browseWeight) < detailWeight) {
+            send("GET /clothes/{id}", get("/clothes/" + (1 + random.nextInt(garments))), recorder);
+        } else if ((pick -= detailWeight) < authenticateWeight) {
+            send("POST /user/authenticate", post("/user/authenticate", credentials(random.nextInt(users)), null),
+                    recorder);
+        } else {
+            String garment = "{\"type\":\"SHIRT\",\"description\":\"Load test garment\",\"size\":\"MEDIUM\","
+                    + "\"price\":" + (5 + random.nextInt(495)) + "}";
+            send("POST /user/clothes", post("/user/clothes", garment, token), recorder);
+        }
+    }
+
+    private void send(String endpoint, HttpRequest request, LatencyRecorder recorder)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+    }
+
+    private String authenticate(int user) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(post("/user/authenticate", credentials(user), null),
+                HttpResponse.BodyHandlers.ofString());
+        // AuthResponseDto has a single-argument constructor only, which Jackson cannot bind properties to
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private String credentials(int user) {
+        return "{\"username\":\"" + CatalogFixtures.username(user) + "\",\"password\":\"" + CatalogFixtures.PASSWORD + "\"}";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private void report(Map<String, LatencyRecorder.Summary> summaries) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms");
+        System.out.printf("%n%d clients, requests served on %s threads%n", clients,
+                virtualThreads ? "virtual" : "platform");
+        System.out.printf("%-24s %10s %8s %12s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        summaries.forEach((endpoint, summary) -> {
+            System.out.printf(Locale.ROOT, "%-24s %10d %8d %12.1f %10.2f %10.2f %10.2f%n", endpoint,
+                    summary.getRequests(), summary.getErrors(), summary.getThroughput(),
+                    summary.getP50(), summary.getP99(), summary.getMax());
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f", endpoint,
+                    summary.getRequests(), summary.getErrors(), summary.getThroughput(),
+                    summary.getP50(), summary.getP99(), summary.getMax()));
+        });
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, lines);
+    }
+}
@@ -0,0 +1,68 @@
+package com.haykz.mapper;
+
+import com.haykz.dto.CreateGarmentDto;
+import com.haykz.dto.GarmentDto;
+import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentMapperTest {
+
+    private final GarmentMapper garmentMapper = Mappers.getMapper(GarmentMapper.class);
+
+    @Test
+    public void toDto_ShouldMapGarmentAndPublisher() {
+        UserEntity publisher = new UserEntity(3L, "Test", "Test Add", "testuser", "password");
+        GarmentEntity garment = new GarmentEntity(1L, Type.SHIRT, "Clothing", Size.MEDIUM, BigDecimal.TEN, publisher, 4L);
+
+        GarmentDto garmentDto = garmentMapper.toDto(garment);
+
+        assertEquals(1L, garmentDto.getId());
+        assertEquals(Type.SHIRT, garmentDto.getType());
+        assertEquals("Clothing", garmentDto.getDescription());
+        assertEquals(Size.MEDIUM, garmentDto.getSize());
+        assertEquals(BigDecimal.TEN, garmentDto.getPrice());
+        assertEquals(3L, garmentDto.getPublisher().getId());
+        assertEquals("testuser", garmentDto.getPublisher().getUsername());
+        assertEquals(4L, garmentDto.getVersion());
+    }
+
+    @Test
+    public void toEntity_ShouldLeaveIdPublisherAndVersionUnset() {
+        CreateGarmentDto createGarmentDto = new CreateGarmentDto(Type.PANTS, "Jeans", Size.LARGE, BigDecimal.TWO);
+
+        GarmentEntity garment = garmentMapper.toEntity(createGarmentDto);
+
+        assertNull(garment.getId());
+        assertNull(garment.getPublisher());
+        assertNull(garment.getVersion());
+        assertEquals(Type.PANTS, garment.getType());
+        assertEquals("Jeans", garment.getDescription());
+        assertEquals(Size.LARGE, garment.getSize());
+        assertEquals(BigDecimal.TWO, garment.getPrice());
+    }
+
+    @Test
+    public void updateEntity_ShouldCopyDetailsAndKeepIdPublisherAndVersion() {
+        UserEntity publisher = new UserEntity(3L, "Test", "Test Add", "testuser", "password");
+        GarmentEntity garment = new GarmentEntity(1L, Type.SHIRT, "Clothing", Size.MEDIUM, BigDecimal.TEN, publisher, 4L);
+        CreateGarmentDto createGarmentDto = new CreateGarmentDto(Type.JACKET, "Warm", Size.SMALL, BigDecimal.ONE);
+
+        garmentMapper.updateEntity(createGarmentDto, garment);
+
+        assertEquals(1L, garment.getId());
+        assertSame(publisher, garment.getPublisher());
+        assertEquals(4L, garment.getVersion());
+        assertEquals(Type.JACKET, garment.getType());
+        assertEquals("Warm", garment.getDescription());
+        assertEquals(Size.SMALL, garment.getSize());
+        assertEquals(BigDecimal.ONE, garment.getPrice());
+    }
+}
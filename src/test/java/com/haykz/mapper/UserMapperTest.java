@@ -0,0 +1,39 @@
+package com.haykz.mapper;
+
+import com.haykz.dto.CreateUserDto;
+import com.haykz.dto.UserDto;
+import com.haykz.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserMapperTest {
+
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Test
+    public void toDto_ShouldMapUserWithoutPassword() {
+        UserEntity user = new UserEntity(1L, "Test", "Test Add", "testuser", "password");
+
+        UserDto userDto = userMapper.toDto(user);
+
+        assertEquals(1L, userDto.getId());
+        assertEquals("Test", userDto.getFullName());
+        assertEquals("Test Add", userDto.getAddress());
+        assertEquals("testuser", userDto.getUsername());
+    }
+
+    @Test
+    public void toEntity_ShouldCopyRegistrationDetails() {
+        CreateUserDto createUserDto = new CreateUserDto("Test", "Test Add", "testuser", "password");
+
+        UserEntity user = userMapper.toEntity(createUserDto);
+
+        assertNull(user.getId());
+        assertEquals("Test", user.getFullName());
+        assertEquals("Test Add", user.getAddress());
+        assertEquals("testuser", user.getUsername());
+        assertEquals("password", user.getPassword());
+    }
+}
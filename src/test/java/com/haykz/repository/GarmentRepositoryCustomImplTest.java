@@ -0,0 +1,88 @@
+package com.haykz.repository;
+
+import com.haykz.dto.GarmentFacetsDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.PriceBucketDto;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GarmentRepositoryCustomImplTest {
+
+    private static final List<BigDecimal> PRICE_BOUNDS = List.of(BigDecimal.ZERO, BigDecimal.valueOf(20), BigDecimal.valueOf(50));
+
+    // Rows of the facet query without filters: facet, type, size, price bucket, count
+    private static final List<Object[]> CATALOG_ROWS = List.of(
+            new Object[]{0, "SHIRT", null, null, 9L},
+            new Object[]{0, "PANTS", null, null, 6L},
+            new Object[]{0, "DRESS", null, null, 7L},
+            new Object[]{1, null, "MEDIUM", null, 12L},
+            new Object[]{1, null, "LARGE", null, 2L},
+            new Object[]{1, null, "SMALL", null, 1L},
+            new Object[]{1, null, null, null, 7L},
+            new Object[]{2, null, null, 0, 5L},
+            new Object[]{2, null, null, 1, 7L},
+            new Object[]{2, null, null, 2, 3L},
+            new Object[]{2, null, null, -1, 7L});
+
+    @Test
+    public void facetsOf_ShouldCountEveryFacet_WhenNoFilterIsGiven() {
+        GarmentFacetsDto facets = GarmentRepositoryCustomImpl.facetsOf(CATALOG_ROWS, new GarmentFilterDto(), PRICE_BOUNDS, null);
+
+        assertEquals(22, facets.getTotal());
+        assertEquals(9L, facets.getTypes().get(Type.SHIRT));
+        assertEquals(0L, facets.getTypes().get(Type.JACKET));
+        assertEquals(12L, facets.getSizes().get(Size.MEDIUM));
+        assertEquals(List.of(
+                new PriceBucketDto(BigDecimal.ZERO, BigDecimal.valueOf(20), 5),
+                new PriceBucketDto(BigDecimal.valueOf(20), BigDecimal.valueOf(50), 7),
+                new PriceBucketDto(BigDecimal.valueOf(50), null, 3)), facets.getPrices());
+    }
+
+    @Test
+    public void facetsOf_ShouldApplyFiltersOfOtherFacetsOnly() {
+        GarmentFilterDto filter = GarmentFilterDto.builder()
+                .type(Type.SHIRT).size(Size.MEDIUM).minPrice(BigDecimal.valueOf(20)).maxPrice(BigDecimal.valueOf(49)).build();
+        // Each facet is counted over the garments passing the filters on the other facets
+        List<Object[]> rows = List.of(
+                new Object[]{0, "SHIRT", null, null, 4L},
+                new Object[]{1, null, "MEDIUM", null, 4L},
+                new Object[]{1, null, "LARGE", null, 2L},
+                new Object[]{2, null, null, 1, 4L},
+                new Object[]{2, null, null, 2, 3L});
+
+        GarmentFacetsDto facets = GarmentRepositoryCustomImpl.facetsOf(rows, filter, PRICE_BOUNDS, null);
+
+        assertEquals(4, facets.getTotal());
+        assertEquals(4L, facets.getTypes().get(Type.SHIRT));
+        assertEquals(0L, facets.getTypes().get(Type.PANTS));
+        assertEquals(4L, facets.getSizes().get(Size.MEDIUM));
+        assertEquals(2L, facets.getSizes().get(Size.LARGE));
+        assertEquals(List.of(0L, 4L, 3L), facets.getPrices().stream().map(PriceBucketDto::getCount).toList());
+    }
+
+    @Test
+    public void facetsOf_ShouldTakeUnrestrictedFacetFromCatalog_WhenOnlyItsOwnFilterIsGiven() {
+        GarmentFacetsDto catalog = GarmentRepositoryCustomImpl.facetsOf(CATALOG_ROWS, new GarmentFilterDto(), PRICE_BOUNDS, null);
+        List<Object[]> rows = List.of(
+                new Object[]{1, null, "MEDIUM", null, 5L},
+                new Object[]{1, null, "SMALL", null, 1L},
+                new Object[]{2, null, null, 0, 5L},
+                new Object[]{2, null, null, 1, 1L});
+
+        GarmentFacetsDto facets = GarmentRepositoryCustomImpl.facetsOf(
+                rows, GarmentFilterDto.builder().type(Type.PANTS).build(), PRICE_BOUNDS, catalog);
+
+        assertEquals(6, facets.getTotal());
+        assertEquals(9L, facets.getTypes().get(Type.SHIRT));
+        assertEquals(6L, facets.getTypes().get(Type.PANTS));
+        assertEquals(5L, facets.getSizes().get(Size.MEDIUM));
+        assertEquals(0L, facets.getSizes().get(Size.LARGE));
+        assertEquals(List.of(5L, 1L, 0L), facets.getPrices().stream().map(PriceBucketDto::getCount).toList());
+    }
+}
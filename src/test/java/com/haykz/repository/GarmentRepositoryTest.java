@@ -0,0 +1,209 @@
+package com.haykz.repository;
+
+import com.haykz.dto.GarmentCursor;
+import com.haykz.dto.GarmentDto;
+import com.haykz.dto.GarmentFilterDto;
+import com.haykz.dto.GarmentSort;
+import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.entity.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+public class GarmentRepositoryTest {
+
+    private static final int GARMENTS = 20;
+
+    @Autowired
+    private GarmentRepository garmentRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, GARMENTS})
+    public void findPageOrderedById_ShouldIssueOneStatement_RegardlessOfPublisherCount(int publishers) {
+        Long lastId = persistCatalog(publishers);
+
+        List<GarmentDto> page = garmentRepository.findPage(new GarmentFilterDto(), GarmentSort.ID, null, GARMENTS);
+
+        assertEquals(GARMENTS, page.size());
+        assertEquals(publishers, page.stream().map(garment -> garment.getPublisher().getId()).distinct().count());
+        assertEquals(lastId, page.get(page.size() - 1).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, GARMENTS})
+    public void findAll_ShouldNotLoadPublishers(int publishers) {
+        persistCatalog(publishers);
+
+        List<GarmentEntity> garments = garmentRepository.findAll();
+
+        assertEquals(GARMENTS, garments.size());
+        assertFalse(Hibernate.isInitialized(garments.get(0).getPublisher()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findWithPublisherById_ShouldFetchPublisherInSameStatement() {
+        Long lastId = persistCatalog(1);
+
+        GarmentEntity garment = garmentRepository.findWithPublisherById(lastId).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(garment.getPublisher()));
+        assertEquals("user0", garment.getPublisher().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void findDtoById_ShouldProjectVersion() {
+        Long lastId = persistCatalog(1);
+        GarmentEntity garment = garmentRepository.findById(lastId).orElseThrow();
+        garment.setPrice(BigDecimal.valueOf(99));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        GarmentDto dto = garmentRepository.findDtoById(lastId).orElseThrow();
+
+        assertEquals(1L, dto.getVersion());
+        assertEquals("user0", dto.getPublisher().getUsername());
+    }
+
+    @Test
+    public void findPage_ShouldApplyOnlySuppliedFilters() {
+        persistCatalog(1);
+        testEntityManager.persist(new GarmentEntity(null, Type.PANTS, "Trousers", Size.LARGE, BigDecimal.valueOf(5), null, null));
+        testEntityManager.persist(new GarmentEntity(null, Type.PANTS, "Shorts", Size.SMALL, BigDecimal.valueOf(50), null, null));
+
+        GarmentFilterDto pants = GarmentFilterDto.builder().type(Type.PANTS).build();
+        GarmentFilterDto cheapPants = GarmentFilterDto.builder().type(Type.PANTS).maxPrice(BigDecimal.TEN).build();
+        GarmentFilterDto midRange = GarmentFilterDto.builder()
+                .minPrice(BigDecimal.valueOf(5)).maxPrice(BigDecimal.valueOf(9)).build();
+
+        assertEquals(2, garmentRepository.findPage(pants, GarmentSort.ID, null, GARMENTS).size());
+        assertEquals("Trousers", garmentRepository.findPage(cheapPants, GarmentSort.ID, null, GARMENTS).get(0).getDescription());
+        assertEquals(6, garmentRepository.findPage(midRange, GarmentSort.ID, null, GARMENTS).size());
+    }
+
+    @Test
+    public void findPage_ShouldResumeAfterCursor_WhenOrderedByPrice() {
+        persistCatalog(1);
+        GarmentFilterDto filter = new GarmentFilterDto();
+
+        List<GarmentDto> first = garmentRepository.findPage(filter, GarmentSort.PRICE, null, 3);
+        GarmentCursor after = GarmentCursor.after(GarmentSort.PRICE, first.get(first.size() - 1));
+        List<GarmentDto> second = garmentRepository.findPage(filter, GarmentSort.PRICE, after, 3);
+
+        assertEquals(List.of(0, 1, 2), first.stream().map(garment -> garment.getPrice().intValue()).toList());
+        assertEquals(List.of(3, 4, 5), second.stream().map(garment -> garment.getPrice().intValue()).toList());
+    }
+
+    @Test
+    public void saveAll_ShouldInsertInBatches() {
+        persistCatalog(1);
+        UserEntity publisher = testEntityManager.find(UserEntity.class,
+                garmentRepository.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 1).get(0).getPublisher().getId());
+        statistics.clear();
+        List<GarmentEntity> garments = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            garments.add(new GarmentEntity(null, Type.DRESS, "Bulk " + i, Size.SMALL, BigDecimal.ONE, publisher, null));
+        }
+
+        garmentRepository.saveAll(garments);
+        testEntityManager.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // Three INSERT batches plus a few sequence calls, instead of one statement per garment
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    public void updateOwnedPrices_ShouldChangeOnlyGarmentsOfPublisher() {
+        persistCatalog(2);
+        Long publisherId = garmentRepository.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 1).get(0).getPublisher().getId();
+        GarmentFilterDto cheap = GarmentFilterDto.builder().maxPrice(BigDecimal.valueOf(9)).build();
+        statistics.clear();
+
+        int affected = garmentRepository.updateOwnedPrices(publisherId, null, cheap, null, BigDecimal.valueOf(2));
+        testEntityManager.clear();
+
+        assertEquals(5, affected);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        List<GarmentDto> owned = garmentRepository.findOwned(publisherId, null, cheap, GARMENTS);
+        assertEquals(List.of(0, 4, 8), owned.stream().map(garment -> garment.getPrice().intValue()).toList());
+        assertTrue(owned.stream().allMatch(garment -> garment.getVersion() == 1L));
+    }
+
+    @Test
+    public void deleteOwned_ShouldDeleteOnlyGarmentsOfPublisher() {
+        Long lastId = persistCatalog(2);
+        Long publisherId = garmentRepository.findPage(new GarmentFilterDto(), GarmentSort.ID, null, 1).get(0).getPublisher().getId();
+        // The last garment belongs to the other publisher, the one before it to this publisher
+        List<Long> ids = List.of(lastId, lastId - 1);
+
+        int affected = garmentRepository.deleteOwned(publisherId, ids);
+        testEntityManager.clear();
+
+        assertEquals(1, affected);
+        assertTrue(garmentRepository.findById(lastId).isPresent());
+        assertFalse(garmentRepository.findById(lastId - 1).isPresent());
+    }
+
+    /**
+     * Persists {@value #GARMENTS} garments spread over the given number of publishers, then clears the
+     * persistence context and the statistics so only the statements of the test are counted.
+     *
+     * @return the id of the last persisted garment
+     */
+    private Long persistCatalog(int publishers) {
+        List<UserEntity> users = new ArrayList<>();
+        for (int i = 0; i < publishers; i++) {
+            users.add(testEntityManager.persist(new UserEntity(null, "User " + i, "Address " + i, "user" + i, "password")));
+        }
+        Long lastId = null;
+        for (int i = 0; i < GARMENTS; i++) {
+            GarmentEntity garment = new GarmentEntity(null, Type.SHIRT, "Garment " + i, Size.MEDIUM,
+                    BigDecimal.valueOf(i), users.get(i % publishers), null);
+            lastId = testEntityManager.persist(garment).getId();
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+        return lastId;
+    }
+}
@@ -0,0 +1,80 @@
+package com.haykz.security;
+
+import com.haykz.config.AuthProperties;
+import com.haykz.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void encodeAndMatches_ShouldDelegate_WhenExecutorHasCapacity() {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, hashing(1, 1), meterRegistry);
+        when(delegate.encode("password")).thenReturn("hash");
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertEquals("hash", passwordEncoder.encode("password"));
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    public void matches_ShouldThrowPasswordHashingRejectedException_WhenExecutorIsSaturated() throws Exception {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, hashing(1, 1), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches("password", "hash")).thenAnswer(invocation -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        Future<Boolean> running = callers.submit(() -> passwordEncoder.matches("password", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Boolean> queued = callers.submit(() -> passwordEncoder.matches("password", "hash"));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingRejectedException.class, () -> passwordEncoder.matches("password", "hash"));
+        assertEquals(1, meterRegistry.get("password.hashing.rejected").tag("operation", "matches").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void encode_ShouldRethrowDelegateException() {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, hashing(1, 1), meterRegistry);
+        when(delegate.encode("password")).thenThrow(new IllegalArgumentException("Invalid password"));
+
+        assertThrows(IllegalArgumentException.class, () -> passwordEncoder.encode("password"));
+    }
+
+    private AuthProperties.Hashing hashing(int threads, int queueCapacity) {
+        AuthProperties.Hashing hashing = new AuthProperties.Hashing();
+        hashing.setThreads(threads);
+        hashing.setQueueCapacity(queueCapacity);
+        return hashing;
+    }
+}
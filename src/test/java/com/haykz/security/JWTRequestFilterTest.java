@@ -1,6 +1,8 @@
 package com.haykz.security;
 
 import com.haykz.service.impl.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
@@ -60,11 +62,12 @@ public class JWTRequestFilterTest {
         request.addHeader("Authorization", "Bearer " + jwt);
 
         UserDetails userDetails = new User(username, "password", new ArrayList<>());
+        Claims claims = Jwts.claims().subject(username).build();
 
         when(this.ignoredPaths.matches(request)).thenReturn(true);
-        when(jwtUtil.extractUsername(jwt)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(jwt, username)).thenReturn(true);
+        when(jwtUtil.parseClaims(jwt)).thenReturn(claims);
+        when(userDetailsService.loadPrincipalByUsername(username)).thenReturn(userDetails);
+        when(jwtUtil.validateClaims(claims, username)).thenReturn(true);
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
@@ -73,6 +76,7 @@ public class JWTRequestFilterTest {
 
         assertNotNull(authentication, "Authentication should not be null");
         assertEquals(username, authentication.getName());
+        verify(jwtUtil, times(1)).parseClaims(jwt);
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -92,12 +96,13 @@ public class JWTRequestFilterTest {
         String jwt = "invalid-jwt";
         request.setRequestURI("/some/other/path");
         request.addHeader("Authorization", "Bearer " + jwt);
-        UserDetails userDetails = new User("username", "password", new ArrayList<>()); // Mocked UserDetails instance
+        UserDetails userDetails = new User("testuser", "password", new ArrayList<>()); // Mocked UserDetails instance
+        Claims claims = Jwts.claims().subject("testuser").build();
 
         when(this.ignoredPaths.matches(request)).thenReturn(true);
-        when(userDetailsService.loadUserByUsername("username")).thenReturn(userDetails); // Ensure this returns a UserDetails
-        when(jwtUtil.extractUsername(jwt)).thenReturn("testuser");
-        when(jwtUtil.validateToken(jwt, "testuser")).thenReturn(false);  // Simulate invalid token
+        when(userDetailsService.loadPrincipalByUsername("testuser")).thenReturn(userDetails); // Ensure this returns a UserDetails
+        when(jwtUtil.parseClaims(jwt)).thenReturn(claims);
+        when(jwtUtil.validateClaims(claims, "testuser")).thenReturn(false);  // Simulate invalid token
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
@@ -125,8 +130,8 @@ public class JWTRequestFilterTest {
         request.addHeader("Authorization", "Bearer " + jwt);
 
         when(this.ignoredPaths.matches(request)).thenReturn(true);
-        when(jwtUtil.extractUsername(jwt)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenThrow(new RuntimeException("User not found"));
+        when(jwtUtil.parseClaims(jwt)).thenReturn(Jwts.claims().subject(username).build());
+        when(userDetailsService.loadPrincipalByUsername(username)).thenThrow(new RuntimeException("User not found"));
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
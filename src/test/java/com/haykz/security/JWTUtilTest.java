@@ -1,31 +1,20 @@
 package com.haykz.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
-import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.lang.reflect.Field;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 public class JWTUtilTest {
 
-    @InjectMocks
     private JWTUtil jwtUtil;
 
     private String secretKeyValue = "jasda2n13n1nakljfoidsamlkaslkdjk1jlk23";
 
     @BeforeEach
-    void setUp() throws NoSuchFieldException, IllegalAccessException {
-        MockitoAnnotations.openMocks(this);
-
-        Field secretKeyField = JWTUtil.class.getDeclaredField("secretKey");
-        secretKeyField.setAccessible(true);
-        secretKeyField.set(jwtUtil, secretKeyValue);
+    void setUp() {
+        jwtUtil = new JWTUtil(secretKeyValue);
     }
 
     @Test
@@ -76,4 +65,22 @@ public class JWTUtilTest {
             jwtUtil.extractUsername(malformedToken);
         });
     }
+
+    @Test
+    void parseClaims_ShouldReturnSubject_WhenTokenIsValid() {
+        String token = jwtUtil.generateToken("testuser");
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertEquals("testuser", claims.getSubject());
+        assertTrue(jwtUtil.validateClaims(claims, "testuser"));
+        assertFalse(jwtUtil.validateClaims(claims, "wronguser"));
+    }
+
+    @Test
+    void parseClaims_ShouldThrowException_WhenTokenIsSignedWithAnotherKey() {
+        String token = new JWTUtil("another0secret0key0of0at0least0256bits").generateToken("testuser");
+
+        assertThrows(Exception.class, () -> jwtUtil.parseClaims(token));
+    }
 }
@@ -0,0 +1,62 @@
+package com.haykz.security;
+
+import com.haykz.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecurityConfigTest {
+
+    @Test
+    public void delegatingPasswordEncoder_ShouldMatchAndUpgradeLegacyHash_WhenHashIsUnprefixed() {
+        PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(password("bcrypt", 4));
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+
+        assertTrue(encoder.matches("password", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    public void delegatingPasswordEncoder_ShouldNotUpgrade_WhenHashUsesCurrentEncoding() {
+        PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(password("bcrypt", 4));
+        String hash = encoder.encode("password");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    public void delegatingPasswordEncoder_ShouldUpgrade_WhenStrengthIsRaised() {
+        String hash = SecurityConfig.delegatingPasswordEncoder(password("bcrypt", 4)).encode("password");
+        PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(password("bcrypt", 5));
+
+        assertTrue(encoder.matches("password", hash));
+        assertTrue(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    public void delegatingPasswordEncoder_ShouldUpgrade_WhenEncodingIdChanges() {
+        String hash = SecurityConfig.delegatingPasswordEncoder(password("bcrypt", 4)).encode("password");
+        PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(password("pbkdf2", 4));
+
+        assertTrue(encoder.matches("password", hash));
+        assertTrue(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.encode("password").startsWith("{pbkdf2}"));
+    }
+
+    @Test
+    public void delegatingPasswordEncoder_ShouldThrowIllegalArgumentException_WhenEncodingIdIsUnknown() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SecurityConfig.delegatingPasswordEncoder(password("md5", 4)));
+    }
+
+    private AuthProperties.Password password(String encodingId, int bcryptStrength) {
+        AuthProperties.Password password = new AuthProperties.Password();
+        password.setEncodingId(encodingId);
+        password.setBcryptStrength(bcryptStrength);
+        return password;
+    }
+}
@@ -1,10 +1,12 @@
 package com.haykz.service;
 
+import com.haykz.datasource.ReadYourWrites;
 import com.haykz.dto.CreateUserDto;
 import com.haykz.dto.UserDto;
 import com.haykz.dto.authentication.AuthRequestDto;
 import com.haykz.dto.authentication.AuthResponseDto;
 import com.haykz.entity.UserEntity;
+import com.haykz.mapper.UserMapper;
 import com.haykz.repository.UserRepository;
 import com.haykz.security.JWTUtil;
 import com.haykz.service.impl.AuthServiceImpl;
@@ -13,7 +15,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,6 +23,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +43,10 @@ public class AuthServiceImplTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
 
     @InjectMocks
     private AuthServiceImpl authService;
@@ -107,15 +113,16 @@ public class AuthServiceImplTest {
         userEntity.setPassword("encodedPassword");
 
         when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(modelMapper.map(createUserDto, UserEntity.class)).thenReturn(userEntity);
+        when(userMapper.toEntity(createUserDto)).thenReturn(userEntity);
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(userRepository.save(userEntity)).thenReturn(userEntity);
-        when(modelMapper.map(userEntity, UserDto.class)).thenReturn(UserDto.builder().username("testuser").build());
+        when(userMapper.toDto(userEntity)).thenReturn(UserDto.builder().username("testuser").build());
 
         UserDto registeredUser = authService.registerUser(createUserDto);
 
         assertNotNull(registeredUser);
         assertEquals("testuser", registeredUser.getUsername());
+        verify(readYourWrites).onUserRegistered("testuser");
     }
 
     @Test
@@ -127,6 +134,7 @@ public class AuthServiceImplTest {
         when(userRepository.existsByUsername("existinguser")).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> authService.registerUser(createUserDto));
+        verify(readYourWrites, never()).onUserRegistered(any());
     }
 
 }
\ No newline at end of file
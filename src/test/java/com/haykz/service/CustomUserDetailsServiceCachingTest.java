@@ -0,0 +1,85 @@
+package com.haykz.service;
+
+import com.haykz.config.AuthProperties;
+import com.haykz.config.CacheConfig;
+import com.haykz.config.CatalogProperties;
+import com.haykz.config.ReplicaProperties;
+import com.haykz.datasource.ReadYourWrites;
+import com.haykz.entity.UserEntity;
+import com.haykz.repository.UserRepository;
+import com.haykz.service.impl.CustomUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+public class CustomUserDetailsServiceCachingTest {
+
+    @Configuration
+    @EnableConfigurationProperties({CatalogProperties.class, AuthProperties.class, ReplicaProperties.class})
+    @Import({CacheConfig.class, CustomUserDetailsService.class, ReadYourWrites.class})
+    static class Config {
+    }
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.AUTHENTICATED_PRINCIPALS).clear();
+    }
+
+    @Test
+    public void loadPrincipalByUsername_ShouldLoadOnce_WhenCalledRepeatedly() {
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(new UserEntity(1L, "Test", "Test Add", "testuser", "password")));
+
+        userDetailsService.loadPrincipalByUsername("testuser");
+        userDetailsService.loadPrincipalByUsername("testuser");
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    public void loadPrincipalByUsername_ShouldNotCacheUnknownUser() {
+        when(userRepository.findByUsername("unknownuser")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadPrincipalByUsername("unknownuser"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadPrincipalByUsername("unknownuser"));
+
+        verify(userRepository, times(2)).findByUsername("unknownuser");
+    }
+
+    @Test
+    public void loadUserByUsername_ShouldAlwaysReadTheUser() {
+        when(userRepository.findByUsername("testuser"))
+                .thenReturn(Optional.of(new UserEntity(1L, "Test", "Test Add", "testuser", "password")));
+
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+}
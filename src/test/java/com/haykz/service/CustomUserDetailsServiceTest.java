@@ -1,5 +1,7 @@
 package com.haykz.service;
 
+import com.haykz.config.ReplicaProperties;
+import com.haykz.datasource.ReadYourWrites;
 import com.haykz.entity.UserEntity;
 import com.haykz.repository.UserRepository;
 import com.haykz.service.impl.CustomUserDetailsService;
@@ -7,10 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +28,9 @@ public class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(mock(PlatformTransactionManager.class), new ReplicaProperties());
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -49,4 +58,44 @@ public class CustomUserDetailsServiceTest {
 
         assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername(username));
     }
+
+    @Test
+    public void loadPrincipalByUsername_ShouldReturnPrincipalWithoutPassword_WhenUserExists() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUsername("testuser");
+        userEntity.setPassword("password");
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(userEntity));
+
+        UserDetails principal = customUserDetailsService.loadPrincipalByUsername("testuser");
+
+        verify(readYourWrites).readUser(eq("testuser"), any());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals("", principal.getPassword());
+        assertTrue(principal.getAuthorities().isEmpty());
+    }
+
+    @Test
+    public void loadPrincipalByUsername_ShouldThrowUsernameNotFoundException_WhenUserDoesNotExist() {
+        when(userRepository.findByUsername("nonexistentuser")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadPrincipalByUsername("nonexistentuser"));
+    }
+
+    @Test
+    public void updatePassword_ShouldStoreNewHash_WhenUserExists() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUsername("testuser");
+        userEntity.setPassword("$2a$10$oldhash");
+        UserDetails user = new User("testuser", "$2a$10$oldhash", new ArrayList<>());
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(userEntity));
+
+        UserDetails updated = customUserDetailsService.updatePassword(user, "{bcrypt}$2a$12$newhash");
+
+        assertEquals("{bcrypt}$2a$12$newhash", updated.getPassword());
+        assertEquals("{bcrypt}$2a$12$newhash", userEntity.getPassword());
+        verify(userRepository).save(userEntity);
+    }
 }
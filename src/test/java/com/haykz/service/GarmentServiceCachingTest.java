@@ -0,0 +1,272 @@
+package com.haykz.service;
+
+import com.haykz.cache.GarmentCacheInvalidator;
+import com.haykz.cache.GarmentListingKeyGenerator;
+import com.haykz.config.AuthProperties;
+import com.haykz.config.CacheConfig;
+import com.haykz.config.CatalogProperties;
+import com.haykz.config.ReplicaProperties;
+import com.haykz.datasource.ReadYourWrites;
+import com.haykz.dto.*;
+import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
+import com.haykz.entity.Type;
+import com.haykz.entity.UserEntity;
+import com.haykz.exception.ResourceNotFoundException;
+import com.haykz.index.DescriptionAutocomplete;
+import com.haykz.index.GarmentCatalogIndex;
+import com.haykz.mapper.GarmentMapper;
+import com.haykz.repository.GarmentRepository;
+import com.haykz.repository.UserRepository;
+import com.haykz.service.impl.GarmentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+public class GarmentServiceCachingTest {
+
+    @Configuration
+    @EnableConfigurationProperties({CatalogProperties.class, AuthProperties.class, ReplicaProperties.class})
+    @Import({CacheConfig.class, GarmentServiceImpl.class, GarmentListingKeyGenerator.class,
+            GarmentCacheInvalidator.class, ReadYourWrites.class})
+    static class Config {
+    }
+
+    @MockBean
+    private GarmentRepository garmentRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private GarmentMapper garmentMapper;
+
+    @MockBean
+    private GarmentCatalogIndex catalogIndex;
+
+    @MockBean
+    private DescriptionAutocomplete autocomplete;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private GarmentService garmentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final UserDetails userDetails = new User("testuser", "password", new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.GARMENT_DETAILS).clear();
+        cacheManager.getCache(CacheConfig.GARMENT_LISTINGS).clear();
+        cacheManager.getCache(CacheConfig.GARMENT_FACETS).clear();
+        cacheManager.getCache(CacheConfig.CATALOG_FACETS).clear();
+    }
+
+    @Test
+    public void getGarmentById_ShouldLoadOnce_WhenCalledRepeatedly() {
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.of(GarmentDto.builder().id(1L).build()));
+
+        garmentService.getGarmentById(1L);
+        garmentService.getGarmentById(1L);
+
+        verify(garmentRepository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    public void getGarmentById_ShouldNotCacheMissingGarment() {
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> garmentService.getGarmentById(1L));
+        assertThrows(ResourceNotFoundException.class, () -> garmentService.getGarmentById(1L));
+
+        verify(garmentRepository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    public void getGarmentById_ShouldLoadOnce_WhenColdGarmentIsRequestedConcurrently() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(garmentRepository.findDtoById(1L)).thenAnswer(invocation -> {
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(GarmentDto.builder().id(1L).build());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] requests = new Future<?>[8];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = executor.submit(() -> garmentService.getGarmentById(1L));
+            }
+            loading.countDown();
+            for (Future<?> request : requests) {
+                assertNotNull(request.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(garmentRepository, times(1)).findDtoById(1L);
+    }
+
+    @Test
+    public void updateGarment_ShouldEvictCachedGarment() {
+        GarmentEntity garment = new GarmentEntity();
+        garment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.of(GarmentDto.builder().id(1L).build()));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(garment));
+        when(garmentRepository.save(garment)).thenReturn(garment);
+        when(garmentMapper.toDto(any(GarmentEntity.class))).thenReturn(GarmentDto.builder().id(1L).build());
+
+        garmentService.getGarmentById(1L);
+        garmentService.updateGarment(1L, new CreateGarmentDto(), null, userDetails);
+        garmentService.getGarmentById(1L);
+
+        verify(garmentRepository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    public void unpublishGarment_ShouldEvictCachedGarment() {
+        GarmentEntity garment = new GarmentEntity();
+        garment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.of(GarmentDto.builder().id(1L).build()));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(garment));
+        when(garmentMapper.toDto(garment)).thenReturn(GarmentDto.builder().id(1L).build());
+
+        garmentService.getGarmentById(1L);
+        garmentService.unpublishGarment(1L, userDetails);
+
+        assertNull(cacheManager.getCache(CacheConfig.GARMENT_DETAILS).get(1L));
+    }
+
+    @Test
+    public void getAllGarments_ShouldQueryOnce_WhenSameListingIsRequestedRepeatedly() {
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), eq(GarmentSort.ID), isNull(), anyInt()))
+                .thenReturn(List.of(new GarmentDto()));
+
+        garmentService.getAllGarments(GarmentFilterDto.builder().type(Type.SHIRT).build(), null, null, null);
+        garmentService.getAllGarments(GarmentFilterDto.builder().type(Type.SHIRT).build(), GarmentSort.ID, null, null);
+
+        verify(garmentRepository, times(1)).findPage(any(GarmentFilterDto.class), any(), any(), anyInt());
+    }
+
+    @Test
+    public void getAllGarments_ShouldQueryOnce_WhenLimitsResolveToSamePageSize() {
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), eq(GarmentSort.ID), isNull(), anyInt()))
+                .thenReturn(List.of(new GarmentDto()));
+
+        garmentService.getAllGarments(new GarmentFilterDto(), null, null, 100);
+        garmentService.getAllGarments(new GarmentFilterDto(), null, null, 1000);
+        garmentService.getAllGarments(new GarmentFilterDto(), null, null, 5000);
+        garmentService.getAllGarments(new GarmentFilterDto(), null, null, null);
+        garmentService.getAllGarments(new GarmentFilterDto(), null, null, 20);
+
+        verify(garmentRepository, times(1)).findPage(any(GarmentFilterDto.class), any(), any(), eq(101));
+        verify(garmentRepository, times(1)).findPage(any(GarmentFilterDto.class), any(), any(), eq(21));
+    }
+
+    @Test
+    public void publishGarment_ShouldEvictOnlyListingsTheGarmentMatches() {
+        GarmentDto shirt = GarmentDto.builder().id(1L).type(Type.SHIRT).size(Size.MEDIUM).price(BigDecimal.TEN).build();
+        GarmentEntity garment = new GarmentEntity();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity()));
+        when(garmentMapper.toEntity(any(CreateGarmentDto.class))).thenReturn(garment);
+        when(garmentRepository.save(garment)).thenReturn(garment);
+        when(garmentMapper.toDto(garment)).thenReturn(shirt);
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), any(), any(), anyInt()))
+                .thenReturn(List.of(new GarmentDto()));
+        GarmentFilterDto shirts = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        GarmentFilterDto sizeM = GarmentFilterDto.builder().size(Size.MEDIUM).maxPrice(BigDecimal.valueOf(50)).build();
+        GarmentFilterDto pants = GarmentFilterDto.builder().type(Type.PANTS).build();
+        GarmentFilterDto expensive = GarmentFilterDto.builder().minPrice(BigDecimal.valueOf(100)).build();
+        List.of(shirts, sizeM, pants, expensive).forEach(filter -> garmentService.getAllGarments(filter, null, null, null));
+
+        garmentService.publishGarment(new CreateGarmentDto(), userDetails);
+        List.of(shirts, sizeM, pants, expensive).forEach(filter -> garmentService.getAllGarments(filter, null, null, null));
+
+        verify(garmentRepository, times(2)).findPage(eq(shirts), any(), any(), anyInt());
+        verify(garmentRepository, times(2)).findPage(eq(sizeM), any(), any(), anyInt());
+        verify(garmentRepository, times(1)).findPage(eq(pants), any(), any(), anyInt());
+        verify(garmentRepository, times(1)).findPage(eq(expensive), any(), any(), anyInt());
+    }
+
+    @Test
+    public void getFacets_ShouldQueryOnceUntilAnyGarmentChanges() {
+        GarmentEntity garment = new GarmentEntity();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity()));
+        when(garmentMapper.toEntity(any(CreateGarmentDto.class))).thenReturn(garment);
+        when(garmentRepository.save(garment)).thenReturn(garment);
+        when(garmentMapper.toDto(garment)).thenReturn(GarmentDto.builder().id(1L).type(Type.PANTS).build());
+        when(garmentRepository.countFacets(any(GarmentFilterDto.class), anyList(), any())).thenReturn(new GarmentFacetsDto());
+        GarmentFilterDto shirts = GarmentFilterDto.builder().type(Type.SHIRT).build();
+
+        garmentService.getFacets(shirts);
+        garmentService.getFacets(GarmentFilterDto.builder().type(Type.SHIRT).build());
+        garmentService.publishGarment(new CreateGarmentDto(), userDetails);
+        garmentService.getFacets(shirts);
+
+        verify(garmentRepository, times(2)).countFacets(eq(shirts), anyList(), any());
+        verify(garmentRepository, times(2)).countFacets(eq(new GarmentFilterDto()), anyList(), isNull());
+    }
+
+    @Test
+    public void getFacets_ShouldCountWholeCatalogOnce_ForDistinctFilters() {
+        GarmentFacetsDto catalog = new GarmentFacetsDto();
+        GarmentFilterDto wholeCatalog = new GarmentFilterDto();
+        when(garmentRepository.countFacets(eq(wholeCatalog), anyList(), isNull())).thenReturn(catalog);
+        when(garmentRepository.countFacets(argThat(filter -> !filter.equals(wholeCatalog)), anyList(), same(catalog)))
+                .thenReturn(new GarmentFacetsDto());
+
+        assertSame(catalog, garmentService.getFacets(new GarmentFilterDto()));
+        garmentService.getFacets(GarmentFilterDto.builder().minPrice(BigDecimal.valueOf(10)).build());
+        garmentService.getFacets(GarmentFilterDto.builder().minPrice(BigDecimal.valueOf(11)).build());
+        garmentService.getFacets(GarmentFilterDto.builder().type(Type.SHIRT).build());
+
+        verify(garmentRepository, times(1)).countFacets(eq(wholeCatalog), anyList(), isNull());
+        verify(garmentRepository, times(3)).countFacets(argThat(filter -> !filter.equals(wholeCatalog)), anyList(), same(catalog));
+    }
+
+    @Test
+    public void updateGarment_ShouldEvictListingsOfPreviousAndCurrentType() {
+        GarmentEntity garment = new GarmentEntity();
+        garment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(garment));
+        when(garmentRepository.save(garment)).thenReturn(garment);
+        when(garmentMapper.toDto(garment)).thenReturn(
+                GarmentDto.builder().id(1L).type(Type.SHIRT).build(),
+                GarmentDto.builder().id(1L).type(Type.PANTS).build());
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), any(), any(), anyInt()))
+                .thenReturn(List.of(new GarmentDto()));
+        GarmentFilterDto shirts = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        GarmentFilterDto pants = GarmentFilterDto.builder().type(Type.PANTS).build();
+        GarmentFilterDto jackets = GarmentFilterDto.builder().type(Type.JACKET).build();
+        List.of(shirts, pants, jackets).forEach(filter -> garmentService.getAllGarments(filter, null, null, null));
+
+        garmentService.updateGarment(1L, new CreateGarmentDto(), null, userDetails);
+        List.of(shirts, pants, jackets).forEach(filter -> garmentService.getAllGarments(filter, null, null, null));
+
+        verify(garmentRepository, times(2)).findPage(eq(shirts), any(), any(), anyInt());
+        verify(garmentRepository, times(2)).findPage(eq(pants), any(), any(), anyInt());
+        verify(garmentRepository, times(1)).findPage(eq(jackets), any(), any(), anyInt());
+    }
+}
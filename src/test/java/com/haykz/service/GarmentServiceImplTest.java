@@ -1,28 +1,42 @@
 package com.haykz.service;
 
-import com.haykz.dto.CreateGarmentDto;
-import com.haykz.dto.GarmentDto;
+import com.haykz.config.CatalogProperties;
+import com.haykz.config.ReplicaProperties;
+import com.haykz.datasource.ReadYourWrites;
+import com.haykz.dto.*;
 import com.haykz.entity.GarmentEntity;
+import com.haykz.entity.Size;
 import com.haykz.entity.Type;
 import com.haykz.entity.UserEntity;
+import com.haykz.event.GarmentChangedEvent;
 import com.haykz.exception.ResourceNotFoundException;
+import com.haykz.exception.StaleGarmentException;
+import com.haykz.index.DescriptionAutocomplete;
+import com.haykz.index.GarmentCatalogIndex;
+import com.haykz.mapper.GarmentMapper;
 import com.haykz.repository.GarmentRepository;
 import com.haykz.repository.UserRepository;
 import com.haykz.service.impl.GarmentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,7 +51,22 @@ public class GarmentServiceImplTest {
     private UserRepository userRepository;
 
     @Mock(strictness = Mock.Strictness.LENIENT)
-    private ModelMapper modelMapper;
+    private GarmentMapper garmentMapper;
+
+    @Spy
+    private CatalogProperties catalogProperties = new CatalogProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GarmentCatalogIndex catalogIndex;
+
+    @Mock
+    private DescriptionAutocomplete autocomplete;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(mock(PlatformTransactionManager.class), new ReplicaProperties());
 
     @InjectMocks
     private GarmentServiceImpl garmentService;
@@ -51,21 +80,170 @@ public class GarmentServiceImplTest {
 
     @Test
     public void getAllGarments_ShouldReturnListOfGarmentDtos_WhenGarmentsExist() {
-        List<GarmentEntity> garmentEntities = List.of(new GarmentEntity(), new GarmentEntity());
-        when(garmentRepository.findByCriteria(null, null, null, null)).thenReturn(garmentEntities);
-        when(modelMapper.map(any(GarmentEntity.class), eq(GarmentDto.class)))
-                .thenReturn(new GarmentDto());
+        List<GarmentDto> garments = List.of(new GarmentDto(), new GarmentDto());
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), eq(GarmentSort.ID), isNull(), anyInt()))
+                .thenReturn(garments);
 
-        List<GarmentDto> garmentDtos = garmentService.getAllGarments(null, null, null, null);
+        GarmentPageDto page = garmentService.getAllGarments(new GarmentFilterDto(), null, null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNext());
+    }
 
-        assertEquals(2, garmentDtos.size());
+    @Test
+    public void getAllGarments_ShouldReturnNextCursor_WhenMoreGarmentsFollow() {
+        List<GarmentDto> garments = List.of(
+                GarmentDto.builder().id(3L).price(BigDecimal.ONE).build(),
+                GarmentDto.builder().id(7L).price(BigDecimal.TEN).build(),
+                GarmentDto.builder().id(2L).price(BigDecimal.valueOf(11)).build());
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), eq(GarmentSort.PRICE), isNull(), eq(3)))
+                .thenReturn(garments);
+
+        GarmentPageDto page = garmentService.getAllGarments(new GarmentFilterDto(), GarmentSort.PRICE, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        GarmentCursor next = GarmentCursor.decode(page.getNext(), GarmentSort.PRICE);
+        assertEquals(BigDecimal.TEN, next.getPrice());
+        assertEquals(7L, next.getId());
+    }
+
+    @Test
+    public void getAllGarments_ShouldResumeAfterCursor_WhenCursorIsGiven() {
+        String cursor = GarmentCursor.after(GarmentSort.ID, GarmentDto.builder().id(41L).build()).encode();
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        when(garmentRepository.findPage(eq(filter), eq(GarmentSort.ID),
+                argThat(after -> after.getId() == 41L), anyInt())).thenReturn(List.of());
+
+        GarmentPageDto page = garmentService.getAllGarments(filter, GarmentSort.ID, cursor, null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void getAllGarments_ShouldCapPageSize_WhenLimitExceedsMaximum() {
+        when(garmentRepository.findPage(any(GarmentFilterDto.class), eq(GarmentSort.ID), isNull(), anyInt()))
+                .thenReturn(List.of());
+
+        int cappedPageSize = catalogProperties.getPage().getMaxSize() + 1;
+
+        garmentService.getAllGarments(new GarmentFilterDto(), GarmentSort.ID, null, 10_000);
+
+        verify(garmentRepository).findPage(any(GarmentFilterDto.class), eq(GarmentSort.ID), isNull(),
+                eq(cappedPageSize));
+    }
+
+    @Test
+    public void getAllGarments_ShouldThrowIllegalArgumentException_WhenCursorDoesNotMatchSort() {
+        String cursor = GarmentCursor.after(GarmentSort.ID, GarmentDto.builder().id(1L).build()).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.getAllGarments(new GarmentFilterDto(), GarmentSort.PRICE, cursor, null));
+    }
+
+    @Test
+    public void getAllGarments_ShouldThrowIllegalArgumentException_WhenLimitIsNotPositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.getAllGarments(new GarmentFilterDto(), GarmentSort.ID, null, 0));
+    }
+
+    @Test
+    public void getAllGarments_ShouldNotQueryRepository_WhenCatalogIndexAnswers() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        when(catalogIndex.findPage(filter, GarmentSort.ID, null, 21)).thenReturn(Optional.of(List.of(new GarmentDto())));
+
+        GarmentPageDto result = garmentService.getAllGarments(filter, null, null, null);
+
+        assertEquals(1, result.getItems().size());
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void getAllGarments_ShouldThrowIllegalArgumentException_WhenSortIsRelevance() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.getAllGarments(new GarmentFilterDto(), GarmentSort.RELEVANCE, null, null));
+        verifyNoInteractions(garmentRepository, catalogIndex);
+    }
+
+    @Test
+    public void searchGarments_ShouldReturnHitsInOrderAndRelevanceCursor_WhenMoreHitsFollow() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        List<GarmentSearchHit> hits = List.of(
+                new GarmentSearchHit(GarmentDto.builder().id(9L).build(), 0.9f),
+                new GarmentSearchHit(GarmentDto.builder().id(4L).build(), 0.5f),
+                new GarmentSearchHit(GarmentDto.builder().id(6L).build(), 0.5f));
+        when(garmentRepository.search(eq("linen shirt"), eq(filter), isNull(), eq(3))).thenReturn(hits);
+
+        GarmentPageDto page = garmentService.searchGarments("linen shirt", filter, null, 2);
+
+        assertEquals(List.of(9L, 4L), page.getItems().stream().map(GarmentDto::getId).toList());
+        GarmentCursor next = GarmentCursor.decode(page.getNext(), GarmentSort.RELEVANCE);
+        assertEquals(0.5f, next.getRank());
+        assertEquals(4L, next.getId());
+    }
+
+    @Test
+    public void searchGarments_ShouldResumeAfterCursor_WhenCursorIsGiven() {
+        String cursor = GarmentCursor.after(new GarmentSearchHit(GarmentDto.builder().id(4L).build(), 0.5f)).encode();
+        when(garmentRepository.search(eq("linen"), any(GarmentFilterDto.class),
+                argThat(after -> after.getRank() == 0.5f && after.getId() == 4L), anyInt())).thenReturn(List.of());
+
+        GarmentPageDto page = garmentService.searchGarments("linen", new GarmentFilterDto(), cursor, null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void searchGarments_ShouldThrowIllegalArgumentException_WhenCursorIsOfListing() {
+        String cursor = GarmentCursor.after(GarmentSort.ID, GarmentDto.builder().id(1L).build()).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.searchGarments("linen", new GarmentFilterDto(), cursor, null));
+    }
+
+    @Test
+    public void searchGarments_ShouldThrowIllegalArgumentException_WhenQueryIsTooLong() {
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.searchGarments("a".repeat(201), new GarmentFilterDto(), null, null));
+        verifyNoInteractions(garmentRepository);
+    }
+
+    @Test
+    public void suggestTerms_ShouldCapNumberOfSuggestions_WhenLimitExceedsMaximum() {
+        List<TermSuggestionDto> suggestions = List.of(new TermSuggestionDto("linen", 12));
+        when(autocomplete.suggest("li", catalogProperties.getAutocomplete().getMaxSuggestions())).thenReturn(suggestions);
+
+        assertEquals(suggestions, garmentService.suggestTerms("li", 1_000));
+    }
+
+    @Test
+    public void suggestTerms_ShouldUseDefaultNumberOfSuggestions_WhenLimitIsMissing() {
+        garmentService.suggestTerms("li", null);
+
+        verify(autocomplete).suggest("li", catalogProperties.getAutocomplete().getDefaultSuggestions());
+    }
+
+    @Test
+    public void suggestTerms_ShouldThrowIllegalArgumentException_WhenLimitIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> garmentService.suggestTerms("li", 0));
+        verifyNoInteractions(autocomplete);
+    }
+
+    @Test
+    public void exportGarments_ShouldPassEveryGarmentToConsumer() {
+        when(garmentRepository.streamByFilter(GarmentFilterDto.builder().type(Type.SHIRT).build()))
+                .thenReturn(Stream.of(new GarmentDto(), new GarmentDto(), new GarmentDto()));
+        List<GarmentDto> exported = new ArrayList<>();
+
+        garmentService.exportGarments(GarmentFilterDto.builder().type(Type.SHIRT).build(), exported::add);
+
+        assertEquals(3, exported.size());
     }
 
     @Test
     public void getGarmentById_ShouldReturnGarmentDto_WhenGarmentExists() {
-        GarmentEntity garmentEntity = new GarmentEntity();
-        when(garmentRepository.findById(1L)).thenReturn(Optional.of(garmentEntity));
-        when(modelMapper.map(garmentEntity, GarmentDto.class)).thenReturn(new GarmentDto());
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.of(new GarmentDto()));
 
         GarmentDto garmentDto = garmentService.getGarmentById(1L);
 
@@ -74,7 +252,7 @@ public class GarmentServiceImplTest {
 
     @Test
     public void getGarmentById_ShouldThrowResourceNotFoundException_WhenGarmentDoesNotExist() {
-        when(garmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(garmentRepository.findDtoById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> garmentService.getGarmentById(1L));
     }
@@ -87,13 +265,15 @@ public class GarmentServiceImplTest {
         GarmentDto garmentDto = new GarmentDto();
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(userEntity));
-        when(modelMapper.map(createGarmentDto, GarmentEntity.class)).thenReturn(garmentEntity);
+        when(garmentMapper.toEntity(createGarmentDto)).thenReturn(garmentEntity);
         when(garmentRepository.save(garmentEntity)).thenReturn(garmentEntity);
-        when(modelMapper.map(garmentEntity, GarmentDto.class)).thenReturn(garmentDto);
+        when(garmentMapper.toDto(garmentEntity)).thenReturn(garmentDto);
 
         GarmentDto result = garmentService.publishGarment(createGarmentDto, userDetails);
 
         assertNotNull(result);
+        verify(eventPublisher).publishEvent(argThat((GarmentChangedEvent event) ->
+                event.getPrevious() == null && event.getCurrent() == garmentDto));
     }
 
     @Test
@@ -115,21 +295,22 @@ public class GarmentServiceImplTest {
         existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
         GarmentDto updatedGarmentDto = new GarmentDto();
 
-        when(garmentRepository.findById(1L)).thenReturn(Optional.of(existingGarment));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
         when(garmentRepository.save(existingGarment)).thenReturn(existingGarment);
-        when(modelMapper.map(existingGarment, GarmentDto.class)).thenReturn(updatedGarmentDto);
+        when(garmentMapper.toDto(existingGarment)).thenReturn(updatedGarmentDto);
 
-        GarmentDto result = garmentService.updateGarment(1L, createGarmentDto, userDetails);
+        GarmentDto result = garmentService.updateGarment(1L, createGarmentDto, null, userDetails);
 
         assertNotNull(result);
+        verify(garmentMapper).updateEntity(createGarmentDto, existingGarment);
     }
 
     @Test
     public void updateGarment_ShouldThrowResourceNotFoundException_WhenGarmentDoesNotExist() {
         CreateGarmentDto createGarmentDto = new CreateGarmentDto();
-        when(garmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> garmentService.updateGarment(1L, createGarmentDto, userDetails));
+        assertThrows(ResourceNotFoundException.class, () -> garmentService.updateGarment(1L, createGarmentDto, null, userDetails));
     }
 
     @Test
@@ -138,9 +319,38 @@ public class GarmentServiceImplTest {
         GarmentEntity existingGarment = new GarmentEntity();
         existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser1", "password"));
 
-        when(garmentRepository.findById(1L)).thenReturn(Optional.of(existingGarment));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
 
-        assertThrows(IllegalStateException.class, () -> garmentService.updateGarment(1L, createGarmentDto, userDetails));
+        assertThrows(IllegalStateException.class, () -> garmentService.updateGarment(1L, createGarmentDto, null, userDetails));
+    }
+
+    @Test
+    public void updateGarment_ShouldThrowStaleGarmentException_WhenExpectedVersionIsOutdated() {
+        GarmentEntity existingGarment = new GarmentEntity();
+        existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
+        existingGarment.setVersion(3L);
+
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
+
+        assertThrows(StaleGarmentException.class,
+                () -> garmentService.updateGarment(1L, new CreateGarmentDto(), 2L, userDetails));
+        verify(garmentRepository, never()).save(any(GarmentEntity.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void updateGarment_ShouldThrowStaleGarmentException_WhenConcurrentUpdateWins() {
+        GarmentEntity existingGarment = new GarmentEntity();
+        existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
+        existingGarment.setVersion(3L);
+
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
+        when(garmentRepository.save(existingGarment))
+                .thenThrow(new ObjectOptimisticLockingFailureException(GarmentEntity.class, 1L));
+
+        assertThrows(StaleGarmentException.class,
+                () -> garmentService.updateGarment(1L, new CreateGarmentDto(), 3L, userDetails));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -148,16 +358,17 @@ public class GarmentServiceImplTest {
         GarmentEntity existingGarment = new GarmentEntity();
         existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser", "password"));
 
-        when(garmentRepository.findById(1L)).thenReturn(Optional.of(existingGarment));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
 
         garmentService.unpublishGarment(1L, userDetails);
 
         verify(garmentRepository, times(1)).delete(existingGarment);
+        verify(eventPublisher).publishEvent(any(GarmentChangedEvent.class));
     }
 
     @Test
     public void unpublishGarment_ShouldThrowResourceNotFoundException_WhenGarmentDoesNotExist() {
-        when(garmentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> garmentService.unpublishGarment(1L, userDetails));
     }
@@ -167,9 +378,173 @@ public class GarmentServiceImplTest {
         GarmentEntity existingGarment = new GarmentEntity();
         existingGarment.setPublisher(new UserEntity(1L, "Test", "Test Add", "testuser1", "password"));
 
-        when(garmentRepository.findById(1L)).thenReturn(Optional.of(existingGarment));
+        when(garmentRepository.findWithPublisherById(1L)).thenReturn(Optional.of(existingGarment));
 
         assertThrows(IllegalStateException.class, () -> garmentService.unpublishGarment(1L, userDetails));
     }
-}
 
+    @Test
+    public void publishGarments_ShouldResolvePublisherOnceAndSaveInChunks() {
+        catalogProperties.getBulk().setChunkSize(2);
+        UserEntity userEntity = new UserEntity();
+        List<CreateGarmentDto> garments = List.of(
+                validGarment(), validGarment(), CreateGarmentDto.builder().size(Size.SMALL).price(BigDecimal.ONE).build(),
+                validGarment());
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(userEntity));
+        when(garmentMapper.toEntity(any(CreateGarmentDto.class))).thenAnswer(invocation -> new GarmentEntity());
+        when(garmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(garmentMapper.toDto(any(GarmentEntity.class))).thenReturn(new GarmentDto());
+
+        List<PublishResultDto> results = garmentService.publishGarments(garments, userDetails);
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0).getGarment());
+        assertNotNull(results.get(1).getGarment());
+        assertEquals("Type is required", results.get(2).getError());
+        assertNotNull(results.get(3).getGarment());
+        verify(userRepository, times(1)).findByUsername("testuser");
+        verify(garmentRepository, times(2)).saveAll(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(GarmentChangedEvent.class));
+    }
+
+    @Test
+    public void publishGarments_ShouldRejectChunk_WhenDatabaseRefusesIt() {
+        catalogProperties.getBulk().setChunkSize(1);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity()));
+        when(garmentMapper.toEntity(any(CreateGarmentDto.class))).thenAnswer(invocation -> new GarmentEntity());
+        when(garmentRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        List<PublishResultDto> results = garmentService.publishGarments(List.of(validGarment(), validGarment()), userDetails);
+
+        assertNull(results.get(0).getError());
+        assertEquals("The garment could not be stored", results.get(1).getError());
+    }
+
+    @Test
+    public void publishGarments_ShouldThrowIllegalArgumentException_WhenTooManyGarments() {
+        catalogProperties.getBulk().setMaxItems(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> garmentService.publishGarments(List.of(validGarment(), validGarment()), userDetails));
+        verifyNoInteractions(userRepository, garmentRepository);
+    }
+
+    @Test
+    public void changePrices_ShouldUpdateOwnedGarmentsAndPublishEvents() {
+        UserEntity userEntity = new UserEntity(1L, "Test", "Test Add", "testuser", "password");
+        List<Long> ids = List.of(1L, 2L, 3L);
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().ids(ids).priceFactor(new BigDecimal("0.9")).build();
+        GarmentDto shirt = GarmentDto.builder().id(1L).type(Type.SHIRT).price(new BigDecimal("19.99")).build();
+        GarmentDto pants = GarmentDto.builder().id(2L).type(Type.PANTS).build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(userEntity));
+        when(garmentRepository.findOwned(1L, ids, null, 1001)).thenReturn(List.of(shirt, pants));
+        when(garmentRepository.updateOwnedPrices(1L, ids, null, null, new BigDecimal("0.9"))).thenReturn(2);
+
+        BulkResultDto result = garmentService.changePrices(priceChange, userDetails);
+
+        assertEquals(2, result.getAffected());
+        ArgumentCaptor<GarmentChangedEvent> events = ArgumentCaptor.forClass(GarmentChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(shirt, events.getAllValues().get(0).getPrevious());
+        assertEquals(new BigDecimal("17.99"), events.getAllValues().get(0).getCurrent().getPrice());
+        assertNull(events.getAllValues().get(1).getCurrent().getPrice());
+    }
+
+    @Test
+    public void changePrices_ShouldNotUpdate_WhenNoOwnedGarmentIsSelected() {
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().filter(filter).price(BigDecimal.TEN).build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity(1L, "Test", "Test Add", "testuser", "password")));
+        when(garmentRepository.findOwned(1L, null, filter, 1001)).thenReturn(List.of());
+
+        BulkResultDto result = garmentService.changePrices(priceChange, userDetails);
+
+        assertEquals(0, result.getAffected());
+        verify(garmentRepository, never()).updateOwnedPrices(any(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void changePrices_ShouldThrowIllegalArgumentException_WhenFilterSelectsTooManyGarments() {
+        catalogProperties.getBulk().setMaxItems(1);
+        GarmentFilterDto filter = GarmentFilterDto.builder().type(Type.SHIRT).build();
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().filter(filter).price(BigDecimal.TEN).build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity(1L, "Test", "Test Add", "testuser", "password")));
+        when(garmentRepository.findOwned(1L, null, filter, 2)).thenReturn(List.of(
+                GarmentDto.builder().id(1L).build(), GarmentDto.builder().id(2L).build()));
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.changePrices(priceChange, userDetails));
+        verify(garmentRepository, never()).updateOwnedPrices(any(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void changePrices_ShouldThrowIllegalArgumentException_WhenPriceAndFactorAreBothGiven() {
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder()
+                .ids(List.of(1L)).price(BigDecimal.TEN).priceFactor(BigDecimal.ONE).build();
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.changePrices(priceChange, userDetails));
+        verifyNoInteractions(userRepository, garmentRepository);
+    }
+
+    @Test
+    public void changePrices_ShouldThrowIllegalArgumentException_WhenNoGarmentIsSelected() {
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().price(BigDecimal.TEN).build();
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.changePrices(priceChange, userDetails));
+        verifyNoInteractions(userRepository, garmentRepository);
+    }
+
+    @Test
+    public void changePrices_ShouldThrowIllegalArgumentException_WhenFactorIsNotPositive() {
+        BulkPriceChangeDto priceChange = BulkPriceChangeDto.builder().ids(List.of(1L)).priceFactor(BigDecimal.ZERO).build();
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.changePrices(priceChange, userDetails));
+        verifyNoInteractions(userRepository, garmentRepository);
+    }
+
+    @Test
+    public void unpublishGarments_ShouldDeleteOwnedGarmentsAndPublishEvents() {
+        List<Long> ids = List.of(1L, 2L);
+        GarmentDto shirt = GarmentDto.builder().id(1L).type(Type.SHIRT).build();
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(new UserEntity(1L, "Test", "Test Add", "testuser", "password")));
+        when(garmentRepository.findOwned(1L, ids, null, 2)).thenReturn(List.of(shirt));
+        when(garmentRepository.deleteOwned(1L, ids)).thenReturn(1);
+
+        BulkResultDto result = garmentService.unpublishGarments(ids, userDetails);
+
+        assertEquals(1, result.getAffected());
+        verify(eventPublisher, times(1)).publishEvent(any(GarmentChangedEvent.class));
+    }
+
+    @Test
+    public void unpublishGarments_ShouldThrowIllegalArgumentException_WhenTooManyGarments() {
+        catalogProperties.getBulk().setMaxItems(1);
+
+        assertThrows(IllegalArgumentException.class, () -> garmentService.unpublishGarments(List.of(1L, 2L), userDetails));
+        verifyNoInteractions(userRepository, garmentRepository);
+    }
+
+    @Test
+    public void unpublishGarments_ShouldThrowResourceNotFoundException_WhenUserDoesNotExist() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> garmentService.unpublishGarments(List.of(1L), userDetails));
+    }
+
+    private CreateGarmentDto validGarment() {
+        return CreateGarmentDto.builder()
+                .type(Type.SHIRT)
+                .size(Size.MEDIUM)
+                .description("Shirt")
+                .price(BigDecimal.TEN)
+                .build();
+    }
+}